@@ -5,6 +5,7 @@
 package biomesoplenty.block;
 
 import biomesoplenty.api.damagesource.BOPDamageTypes;
+import biomesoplenty.client.AmbientEffects;
 import biomesoplenty.init.ModTags;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -47,12 +48,14 @@ public class BrimstoneFumaroleBlock extends Block
     public void animateTick(BlockState stateIn, Level worldIn, BlockPos pos, RandomSource rand)
     {
         super.animateTick(stateIn, worldIn, pos, rand);
-        if (worldIn.getBlockState(pos.above()).isAir())
+        if (worldIn.getBlockState(pos.above()).isAir() && AmbientEffects.canEmit(pos, rand, 1))
         {
-            worldIn.addAlwaysVisibleParticle(ParticleTypes.CAMPFIRE_SIGNAL_SMOKE, (double) (pos.getX() + 0.5D + ((rand.nextDouble() - rand.nextDouble()) / 6.0D)), (double) (pos.getY() + 1.0D), (double) (pos.getZ() + 0.5D + ((rand.nextDouble() - rand.nextDouble()) / 6.0D)), 0.0D, 0.02D, 0.0D);
+            AmbientEffects.emitted(1);
+            worldIn.addParticle(ParticleTypes.CAMPFIRE_SIGNAL_SMOKE, (double) (pos.getX() + 0.5D + ((rand.nextDouble() - rand.nextDouble()) / 6.0D)), (double) (pos.getY() + 1.0D), (double) (pos.getZ() + 0.5D + ((rand.nextDouble() - rand.nextDouble()) / 6.0D)), 0.0D, 0.02D, 0.0D);
 
-            if (rand.nextInt(6) == 0)
+            if (rand.nextInt(6) == 0 && AmbientEffects.canEmit(pos, rand, 5))
             {
+                AmbientEffects.emitted(5);
                 for (int i = 0; i < 5; i++)
                 {
                     worldIn.addParticle(ParticleTypes.LAVA, (double) (pos.getX() + 0.5D + ((rand.nextDouble() - rand.nextDouble()) / 6.0D)), (double) (pos.getY() + 1.0D), (double) (pos.getZ() + 0.5D + ((rand.nextDouble() - rand.nextDouble()) / 6.0D)), 0.0D, 0.0D, 0.0D);
@@ -9,6 +9,7 @@ import biomesoplenty.api.block.BOPFluids;
 import biomesoplenty.init.ModTags;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -26,11 +27,17 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.DoublePlantBlock;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.gameevent.GameEvent;
 import net.minecraft.world.phys.BlockHitResult;
 
+import java.util.function.Predicate;
+
 public class FleshBlock extends Block
 {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Predicate<BlockState> HAS_BLOOD = state -> state.getFluidState().is(BOPFluids.BLOOD);
+
     public FleshBlock(Block.Properties properties)
     {
         super(properties);
@@ -45,16 +52,7 @@ public class FleshBlock extends Block
     @Override
     public void randomTick(BlockState state, ServerLevel worldIn, BlockPos pos, RandomSource p_221787_)
     {
-        boolean bloodAdjacent = false;
-        for (Direction direction : Direction.values())
-        {
-            if (worldIn.getFluidState(pos.relative(direction)).is(BOPFluids.BLOOD))
-            {
-                bloodAdjacent = true;
-            }
-        }
-
-        if (bloodAdjacent && p_221787_.nextInt(15) == 0)
+        if (p_221787_.nextInt(15) == 0 && isBloodAdjacent(worldIn, pos))
         {
             switch (p_221787_.nextInt(4))
             {
@@ -90,6 +88,35 @@ public class FleshBlock extends Block
         }
     }
 
+    private static boolean isBloodAdjacent(ServerLevel level, BlockPos pos)
+    {
+        int localX = SectionPos.sectionRelative(pos.getX());
+        int localY = SectionPos.sectionRelative(pos.getY());
+        int localZ = SectionPos.sectionRelative(pos.getZ());
+
+        // When every neighbour is in the same section, a section whose palette has no blood can't have any nearby
+        if (localX > 0 && localX < 15 && localY > 0 && localY < 15 && localZ > 0 && localZ < 15)
+        {
+            LevelChunk chunk = level.getChunkAt(pos);
+
+            if (!chunk.getSection(chunk.getSectionIndex(pos.getY())).maybeHas(HAS_BLOOD))
+            {
+                return false;
+            }
+        }
+
+        BlockPos.MutableBlockPos neighbourPos = new BlockPos.MutableBlockPos();
+
+        for (Direction direction : DIRECTIONS)
+        {
+            if (level.getFluidState(neighbourPos.setWithOffset(pos, direction)).is(BOPFluids.BLOOD))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected InteractionResult useItemOn(ItemStack stack, BlockState state, Level level, BlockPos pos, Player player, InteractionHand hand, BlockHitResult hitResult)
     {
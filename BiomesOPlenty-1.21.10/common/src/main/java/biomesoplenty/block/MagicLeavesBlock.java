@@ -4,6 +4,7 @@
  ******************************************************************************/
 package biomesoplenty.block;
 
+import biomesoplenty.client.AmbientEffects;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.particles.ParticleTypes;
@@ -25,12 +26,13 @@ public class MagicLeavesBlock extends TintedParticleLeavesBlock
     public void animateTick(BlockState p_272714_, Level p_272837_, BlockPos p_273218_, RandomSource p_273360_)
     {
         super.animateTick(p_272714_, p_272837_, p_273218_, p_273360_);
-        if (p_273360_.nextInt(20) == 0)
+        if (p_273360_.nextInt(20) == 0 && AmbientEffects.canEmit(p_273218_, p_273360_, 1))
         {
             BlockPos blockpos = p_273218_.below();
             BlockState blockstate = p_272837_.getBlockState(blockpos);
             if (!isFaceFull(blockstate.getCollisionShape(p_272837_, blockpos), Direction.UP))
             {
+                AmbientEffects.emitted(1);
                 ParticleUtils.spawnParticleBelow(p_272837_, p_273218_, p_273360_, ParticleTypes.END_ROD);
             }
         }
@@ -5,6 +5,7 @@
 package biomesoplenty.block;
 
 import biomesoplenty.api.block.BOPBlocks;
+import biomesoplenty.client.AmbientEffects;
 import biomesoplenty.init.ModParticles;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -90,7 +91,7 @@ public class NullLeavesBlock extends TintedParticleLeavesBlock
     @Override
     public void animateTick(BlockState p_221253_, Level p_221254_, BlockPos p_221255_, RandomSource p_221256_)
     {
-        if (p_221256_.nextInt(20) == 0)
+        if (p_221256_.nextInt(20) == 0 && AmbientEffects.canEmit(p_221255_, p_221256_, 1))
         {
             Direction direction = Direction.DOWN;
             Direction.Axis direction$axis = direction.getAxis();
@@ -108,6 +109,7 @@ public class NullLeavesBlock extends TintedParticleLeavesBlock
                 double d5 = direction$axis == Direction.Axis.Y ? (double)direction.getStepY() * 0.55D : d3;
                 double d6 = direction$axis == Direction.Axis.Z ? (double)direction.getStepZ() * 0.55D : d3;
 
+                AmbientEffects.emitted(1);
                 p_221254_.addParticle(ModParticles.NULL, d0 + d4, d1 + d5, d2 + d6, 0.0D, -0.05D, 0.0D);
             }
         }
@@ -19,7 +19,6 @@ import net.minecraft.world.level.block.state.BlockState;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -27,18 +26,19 @@ public class AnomalyBlockEntity extends BlockEntity
 {
     private long lastTime = -1;
     private BlockState lastState = null;
+    private int baseIndex = -1;
 
     private static final int MAX_NUM_MODEL_STATES = 500;
-    private static final Supplier<List<BlockState>> MODEL_STATES = Suppliers.memoize(() -> {
+    private static final Supplier<BlockState[]> MODEL_STATES = Suppliers.memoize(() -> {
         // Choose MAX_NUM_MODEL_STATES random blocks first, use a random blockstate from each
         var allBlocks = BuiltInRegistries.BLOCK.listElements().filter(b -> b.key().location().getNamespace().equals("minecraft") && b.value().defaultBlockState().getRenderShape() == RenderShape.MODEL).collect(Collectors.toCollection(ArrayList::new));
         Collections.shuffle(allBlocks);
-        List<BlockState> states = new ArrayList<>(MAX_NUM_MODEL_STATES);
+        BlockState[] states = new BlockState[MAX_NUM_MODEL_STATES];
         var random = RandomSource.create();
         for (int i = 0; i < MAX_NUM_MODEL_STATES; i++) {
             var block = allBlocks.get(i % allBlocks.size());
             var blockPossibleStates = block.value().getStateDefinition().getPossibleStates();
-            states.add(blockPossibleStates.get(random.nextInt(blockPossibleStates.size())));
+            states[i] = blockPossibleStates.get(random.nextInt(blockPossibleStates.size()));
         }
         return states;
     });
@@ -58,11 +58,14 @@ public class AnomalyBlockEntity extends BlockEntity
         if (lastTime == time && lastState != null)
             return lastState;
 
-        RandomSource random = RandomSource.create(Mth.getSeed(this.getBlockPos()));
         BlockState state = this.getBlockState();
+        final BlockState[] renderStates = MODEL_STATES.get();
 
-        final var renderStates = MODEL_STATES.get();
-        int index = random.nextInt(renderStates.size());
+        // The starting index only depends on the position, so it only needs to be chosen once
+        if (baseIndex < 0)
+            baseIndex = RandomSource.create(Mth.getSeed(this.getBlockPos())).nextInt(renderStates.length);
+
+        int index = baseIndex;
 
         switch (state.getValue(AnomalyBlock.ANOMALY_TYPE))
         {
@@ -77,8 +80,8 @@ public class AnomalyBlockEntity extends BlockEntity
             }
         }
 
-        index = Mth.positiveModulo(index, renderStates.size()); // For some bizarre reason some people have a negative time?
-        BlockState renderState = renderStates.stream().skip(index).findFirst().orElseThrow();
+        index = Mth.positiveModulo(index, renderStates.length); // For some bizarre reason some people have a negative time?
+        BlockState renderState = renderStates[index];
 
         lastState = renderState;
         lastTime = time;
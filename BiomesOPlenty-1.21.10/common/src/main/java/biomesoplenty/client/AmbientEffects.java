@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.client;
+
+import biomesoplenty.init.ModConfig;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.RandomSource;
+
+/**
+ * Schedules the ambient particles BOP blocks emit from animateTick. Effects further from the player are emitted less
+ * often, and the number of particles emitted within each client tick is capped. Blocks should check whether an effect
+ * may be emitted before reading any neighbouring blocks, so that skipped effects cost nothing beyond a random roll, and
+ * only report particles as emitted once they are actually added. Only call this on the client.
+ */
+public class AmbientEffects
+{
+    private static final double FULL_DETAIL_DISTANCE = 12.0D;
+    private static final double MIN_DETAIL_DISTANCE = 32.0D;
+    private static final float MIN_DETAIL = 0.25F;
+
+    private static int window = -1;
+    private static int spent;
+
+    // Whether an effect made up of the given number of particles may be emitted at the given position. Nothing is
+    // taken from the budget until the particles are reported with emitted
+    public static boolean canEmit(BlockPos pos, RandomSource random, int particles)
+    {
+        int budget = ModConfig.client.ambientParticleBudget;
+
+        if (budget <= 0)
+        {
+            return true;
+        }
+
+        LocalPlayer player = Minecraft.getInstance().player;
+
+        if (player != null)
+        {
+            double distance = Math.sqrt(pos.distToCenterSqr(player.getX(), player.getY(), player.getZ()));
+
+            if (distance > FULL_DETAIL_DISTANCE)
+            {
+                float detail = (float)Math.max(MIN_DETAIL, 1.0D - (1.0D - MIN_DETAIL) * (distance - FULL_DETAIL_DISTANCE) / (MIN_DETAIL_DISTANCE - FULL_DETAIL_DISTANCE));
+
+                if (random.nextFloat() >= detail)
+                {
+                    return false;
+                }
+            }
+        }
+
+        return spentThisTick() + particles <= budget;
+    }
+
+    // Takes particles that were actually added from this tick's budget
+    public static void emitted(int particles)
+    {
+        spent = spentThisTick() + particles;
+    }
+
+    private static int spentThisTick()
+    {
+        // animateTick runs in a burst once per client tick, so the budget is shared by everything emitted in the same tick.
+        // The gui tick count advances once per client tick, even while the level's own ticks are frozen
+        int currentWindow = Minecraft.getInstance().gui.getGuiTicks();
+
+        if (currentWindow != window)
+        {
+            window = currentWindow;
+            spent = 0;
+        }
+
+        return spent;
+    }
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.config;
+
+import biomesoplenty.core.BiomesOPlenty;
+import glitchcore.config.Config;
+import glitchcore.util.Environment;
+
+public class ClientConfig extends Config
+{
+    public boolean cutoutLeaves;
+    public int leafParticleBudget;
+    public int ambientParticleBudget;
+
+    public ClientConfig()
+    {
+        super(Environment.getConfigPath().resolve(BiomesOPlenty.MOD_ID + "/client.toml"));
+    }
+
+    @Override
+    public void load()
+    {
+        cutoutLeaves = add("rendering.cutout_leaves", false, "Render leaves in the cutout layer like vanilla leaves rather than the translucent layer. Improves performance in dense forests.");
+        leafParticleBudget = add("particles.leaf_particle_budget", 128, "The maximum number of falling leaf particles alive in a chunk at once. Fewer leaves fall as a chunk nears its budget. Set to 0 for no limit.");
+        ambientParticleBudget = add("particles.ambient_particle_budget", 64, "The maximum number of ambient particles, such as fumarole smoke, emitted by BOP blocks each tick. Blocks further from the player also emit less often. Set to 0 to disable both limits.");
+    }
+}
@@ -11,6 +11,7 @@ import glitchcore.util.Environment;
 public class GameplayConfig extends Config
 {
     public boolean wanderingTraderTrades;
+    public boolean profileRandomTicks;
 
     public GameplayConfig()
     {
@@ -21,5 +22,6 @@ public class GameplayConfig extends Config
     public void load()
     {
         wanderingTraderTrades = add("general.wandering_trader_trades", true, "Add various BOP resources to the Wandering Trader trade pool.");
+        profileRandomTicks = add("debug.profile_random_ticks", false, "Record the random ticks consumed by BOP blocks, per block and per chunk. A report is written to the log when the server stops, or on demand with /bop profile report.");
     }
 }
@@ -17,6 +17,9 @@ public class GenerationConfig extends Config
     public int bopOverworldRareRegionWeight;
     public int bopNetherRareRegionWeight;
 
+    public boolean profileFeatures;
+    public boolean verifySurfaceRules;
+
     public GenerationConfig()
     {
         super(Environment.getConfigPath().resolve(BiomesOPlenty.MOD_ID + "/generation.toml"));
@@ -31,5 +34,8 @@ public class GenerationConfig extends Config
 
         bopNetherRegionWeight = addNumber("nether.bop_nether_region_weight", 13, 0, Integer.MAX_VALUE, "The weighting of bop biome regions in the nether.");
         bopNetherRareRegionWeight = addNumber("nether.bop_nether_rare_region_weight", 2, 0, Integer.MAX_VALUE, "The weighting of rare bop biome regions in the nether.");
+
+        profileFeatures = add("debug.profile_features", false, "Record the time taken and blocks placed by each BOP feature during world generation. A report is written to the log when the server stops, or on demand with /bop profile report.");
+        verifySurfaceRules = add("debug.verify_surface_rules", false, "Also run the original BOP surface rules alongside the biome-dispatched ones and log any block where they differ. This slows down surface building and is only meant for checking the dispatch tables.");
     }
 }
@@ -6,6 +6,7 @@ package biomesoplenty.core;
 
 import biomesoplenty.api.BOPAPI;
 import biomesoplenty.init.*;
+import biomesoplenty.worldgen.BOPSurfaceRuleData;
 import biomesoplenty.worldgen.carver.BOPWorldCarvers;
 import biomesoplenty.worldgen.feature.BOPBaseFeatures;
 import glitchcore.event.EventManager;
@@ -40,6 +41,7 @@ public class BiomesOPlenty
         regHelper.addRegistrar(Registries.ITEM, ModItems::setup);
         regHelper.addRegistrar(Registries.FEATURE, BOPBaseFeatures::registerFeatures);
         regHelper.addRegistrar(Registries.CARVER, BOPWorldCarvers::registerCarvers);
+        regHelper.addRegistrar(Registries.MATERIAL_RULE, BOPSurfaceRuleData::registerRuleSources);
         regHelper.addRegistrar(Registries.ENTITY_TYPE, ModEntities::registerEntities);
         regHelper.addRegistrar(Registries.CREATIVE_MODE_TAB, ModCreativeTab::registerCreativeTabs);
         regHelper.addRegistrar(Registries.PARTICLE_TYPE, ModParticles::registerParticles);
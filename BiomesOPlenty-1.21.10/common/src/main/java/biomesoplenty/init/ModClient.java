@@ -75,33 +75,36 @@ public class ModClient
 
     public static void setupRenderTypes()
     {
+        // Leaf textures are fully opaque or fully transparent, so they don't need sorting unless translucency is preferred
+        ChunkSectionLayer leavesLayer = ModConfig.client.cutoutLeaves ? ChunkSectionLayer.CUTOUT_MIPPED : ChunkSectionLayer.TRANSLUCENT;
+
         RenderHelper.setRenderType(MOSSY_BLACK_SAND, ChunkSectionLayer.TRANSLUCENT);
         RenderHelper.setRenderType(WISPJELLY, ChunkSectionLayer.TRANSLUCENT);
         RenderHelper.setRenderType(NULL_END_STONE, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(NULL_LEAVES, ChunkSectionLayer.TRANSLUCENT);
+        RenderHelper.setRenderType(NULL_LEAVES, leavesLayer);
         RenderHelper.setRenderType(NULL_PLANT, ChunkSectionLayer.CUTOUT);
         RenderHelper.setRenderType(GLOWING_MOSS_BLOCK, ChunkSectionLayer.CUTOUT);
         RenderHelper.setRenderType(GLOWING_MOSS_CARPET, ChunkSectionLayer.CUTOUT);
 
-        RenderHelper.setRenderType(FLOWERING_OAK_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(CYPRESS_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(SNOWBLOSSOM_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(ORIGIN_OAK_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(FIR_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(PINE_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(RED_MAPLE_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(ORANGE_MAPLE_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(YELLOW_MAPLE_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(REDWOOD_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(MAHOGANY_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(JACARANDA_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(PALM_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(WILLOW_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(DEAD_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(MAGIC_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(UMBRAN_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(HELLBARK_LEAVES, ChunkSectionLayer.TRANSLUCENT);
-        RenderHelper.setRenderType(EMPYREAL_LEAVES, ChunkSectionLayer.TRANSLUCENT);
+        RenderHelper.setRenderType(FLOWERING_OAK_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(CYPRESS_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(SNOWBLOSSOM_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(ORIGIN_OAK_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(FIR_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(PINE_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(RED_MAPLE_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(ORANGE_MAPLE_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(YELLOW_MAPLE_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(REDWOOD_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(MAHOGANY_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(JACARANDA_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(PALM_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(WILLOW_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(DEAD_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(MAGIC_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(UMBRAN_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(HELLBARK_LEAVES, leavesLayer);
+        RenderHelper.setRenderType(EMPYREAL_LEAVES, leavesLayer);
 
         RenderHelper.setRenderType(FLOWERING_OAK_SAPLING, ChunkSectionLayer.CUTOUT);
         RenderHelper.setRenderType(CYPRESS_SAPLING, ChunkSectionLayer.CUTOUT);
@@ -349,6 +352,10 @@ public class ModClient
 
     public static void registerBlockColors(RegisterColorsEvent.Block event)
     {
+        // Blended biome colours are cached per position by the client level's tint caches, which are shared by every
+        // block using the same resolver and cleared when chunks load or the blend radius changes. No separate cache
+        // is kept here as it would only duplicate those.
+
         //Grass Coloring
         event.register((state, world, pos, tintIndex) ->
                         world != null && pos != null ? BiomeColors.getAverageGrassColor(world, pos) : GrassColor.get(0.5D, 1.0D),
@@ -390,61 +397,17 @@ public class ModClient
         event.registerSpriteSet(ModParticles.WISP_BUBBLE, WispBubbleParticle.Provider::new);
         event.registerSpriteSet(ModParticles.NULL, NullParticle.Provider::new);
         event.registerSpriteSet(ModParticles.BINARY, BinaryParticle.Provider::new);
-        event.registerSpriteSet(ModParticles.JACARANDA_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new LeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.SNOWBLOSSOM_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new LeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.RED_MAPLE_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new LargeLeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.ORANGE_MAPLE_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new LargeLeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.YELLOW_MAPLE_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new LargeLeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.FIR_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new NormalLeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.REDWOOD_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new NormalLeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.CYPRESS_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new NormalLeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.MAGIC_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new NormalLeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.UMBRAN_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new NormalLeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
-        event.registerSpriteSet(ModParticles.HELLBARK_LEAVES, (p_277215_) -> {
-            return (p_277217_, p_277218_, p_277219_, p_277220_, p_277221_, p_277222_, p_277223_, p_277224_,  random) -> {
-                return new NormalLeafParticle(p_277218_, p_277219_, p_277220_, p_277221_, p_277215_, p_277215_.get(random));
-            };
-        });
+        event.registerSpriteSet(ModParticles.JACARANDA_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, LeafParticle::new));
+        event.registerSpriteSet(ModParticles.SNOWBLOSSOM_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, LeafParticle::new));
+        event.registerSpriteSet(ModParticles.RED_MAPLE_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, LargeLeafParticle::new));
+        event.registerSpriteSet(ModParticles.ORANGE_MAPLE_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, LargeLeafParticle::new));
+        event.registerSpriteSet(ModParticles.YELLOW_MAPLE_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, LargeLeafParticle::new));
+        event.registerSpriteSet(ModParticles.FIR_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, NormalLeafParticle::new));
+        event.registerSpriteSet(ModParticles.REDWOOD_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, NormalLeafParticle::new));
+        event.registerSpriteSet(ModParticles.CYPRESS_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, NormalLeafParticle::new));
+        event.registerSpriteSet(ModParticles.MAGIC_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, NormalLeafParticle::new));
+        event.registerSpriteSet(ModParticles.UMBRAN_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, NormalLeafParticle::new));
+        event.registerSpriteSet(ModParticles.HELLBARK_LEAVES, sprites -> new FallingLeafParticle.Provider(sprites, NormalLeafParticle::new));
     }
 
     public static void registerWoodTypes()
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.init;
+
+import biomesoplenty.core.BiomesOPlenty;
+import biomesoplenty.util.RandomTickProfiler;
+import biomesoplenty.util.worldgen.FeatureBenchmark;
+import biomesoplenty.util.worldgen.BlockStateTable;
+import biomesoplenty.util.worldgen.FeatureProfiler;
+import biomesoplenty.worldgen.carver.OriginCaveWorldCarver;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ModCommands
+{
+    private static final int DEFAULT_ITERATIONS = 200;
+    private static final int DEFAULT_RADIUS = 64;
+    private static final int CARVER_TABLE_ROUNDS = 200;
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher)
+    {
+        dispatcher.register(Commands.literal("bop").requires(source -> source.hasPermission(2))
+            .then(Commands.literal("benchmark")
+                .executes(context -> benchmark(context.getSource(), DEFAULT_ITERATIONS, DEFAULT_RADIUS))
+                .then(Commands.literal("carver").executes(context -> benchmarkCarver(context.getSource())))
+                .then(Commands.argument("iterations", IntegerArgumentType.integer(1, 100000))
+                    .executes(context -> benchmark(context.getSource(), IntegerArgumentType.getInteger(context, "iterations"), DEFAULT_RADIUS))
+                    .then(Commands.argument("radius", IntegerArgumentType.integer(0, 256))
+                        .executes(context -> benchmark(context.getSource(), IntegerArgumentType.getInteger(context, "iterations"), IntegerArgumentType.getInteger(context, "radius"))))))
+            .then(Commands.literal("profile")
+                .then(Commands.literal("report").executes(context -> profileReport(context.getSource())))
+                .then(Commands.literal("reset").executes(context -> profileReset(context.getSource())))));
+    }
+
+    private static int benchmark(CommandSourceStack source, int iterations, int radius)
+    {
+        BlockPos center = BlockPos.containing(source.getPosition());
+        CompletableFuture<List<FeatureBenchmark.Result>> future = FeatureBenchmark.start(source.getLevel(), center, radius, iterations, source.getLevel().getSeed());
+
+        if (future == null)
+        {
+            source.sendFailure(Component.literal("A benchmark is already running"));
+            return 0;
+        }
+
+        source.sendSuccess(() -> Component.literal("Benchmark started, results will be shown when it finishes"), true);
+
+        // Report back on the server thread once the benchmark finishes in the background
+        future.whenCompleteAsync((results, throwable) -> {
+            if (throwable != null)
+            {
+                BiomesOPlenty.LOGGER.error("Feature benchmark failed", throwable);
+                source.sendFailure(Component.literal("Benchmark failed, see the log for details"));
+                return;
+            }
+
+            BiomesOPlenty.LOGGER.info("Feature benchmark at " + center.toShortString() + " (" + iterations + " iterations, radius " + radius + "):");
+
+            for (FeatureBenchmark.Result result : results)
+            {
+                BiomesOPlenty.LOGGER.info(String.format("%-56s %12.0f ns/op %10.1f blocks/op %12.0f bytes/op %6d/%d placed", result.feature(), result.nanosPerOp(), result.blocksPerOp(), result.bytesPerOp(), result.successes(), result.attempts()));
+            }
+
+            // Only show the most expensive features in chat, the full list is in the log
+            for (int i = 0; i < Math.min(10, results.size()); i++)
+            {
+                FeatureBenchmark.Result result = results.get(i);
+                source.sendSuccess(() -> Component.literal(String.format("%s: %.0f ns/op, %.1f blocks/op", result.feature(), result.nanosPerOp(), result.blocksPerOp())), false);
+            }
+
+            source.sendSuccess(() -> Component.literal("Benchmarked " + results.size() + " features, see the log for full results"), true);
+        }, source.getServer());
+
+        return 1;
+    }
+
+    private static int benchmarkCarver(CommandSourceStack source)
+    {
+        BlockStateTable.Timing timing = OriginCaveWorldCarver.REPLACEABLE.benchmark(CARVER_TABLE_ROUNDS);
+        String message = String.format("Carver replaceable check over %d lookups: state table %.2f ns/lookup, tag check %.2f ns/lookup", timing.lookups(), timing.tableNanosPerLookup(), timing.predicateNanosPerLookup());
+
+        BiomesOPlenty.LOGGER.info(message);
+        source.sendSuccess(() -> Component.literal(message), true);
+
+        if (!timing.matches())
+        {
+            source.sendFailure(Component.literal("The state table and the tag check disagreed, the table may be stale"));
+            return 0;
+        }
+
+        return 1;
+    }
+
+    private static int profileReport(CommandSourceStack source)
+    {
+        if (!FeatureProfiler.isEnabled() && !RandomTickProfiler.isEnabled())
+        {
+            source.sendFailure(Component.literal("Profiling is disabled, feature profiling can be enabled in generation.toml and random tick profiling in gameplay.toml"));
+            return 0;
+        }
+
+        if (FeatureProfiler.isEnabled())
+        {
+            FeatureProfiler.logReport();
+        }
+
+        if (RandomTickProfiler.isEnabled())
+        {
+            RandomTickProfiler.logReport();
+        }
+
+        source.sendSuccess(() -> Component.literal("Profile written to the log"), true);
+        return 1;
+    }
+
+    private static int profileReset(CommandSourceStack source)
+    {
+        FeatureProfiler.reset();
+        RandomTickProfiler.reset();
+        source.sendSuccess(() -> Component.literal("Profile reset"), true);
+        return 1;
+    }
+}
@@ -5,10 +5,12 @@
 package biomesoplenty.init;
 
 import biomesoplenty.api.biome.BOPBiomes;
+import biomesoplenty.config.ClientConfig;
 import biomesoplenty.config.GameplayConfig;
 import biomesoplenty.config.GenerationConfig;
 import biomesoplenty.core.BiomesOPlenty;
 import biomesoplenty.util.config.JsonUtil;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.gson.reflect.TypeToken;
 import glitchcore.util.Environment;
@@ -28,10 +30,12 @@ public class ModConfig
 {
     private static final String BIOME_CONFIG_FILE_NAME = "biome_toggles.json";
     private static Map<String, Boolean> biomeToggles;
+    private static volatile Map<ResourceKey<Biome>, Boolean> resolvedBiomeToggles;
     private static final TreeMap<String, Boolean> defaultBiomeToggles = Maps.newTreeMap();
 
     public static GenerationConfig generation = new GenerationConfig();
     public static GameplayConfig gameplay = new GameplayConfig();
+    public static ClientConfig client = new ClientConfig();
 
     public static void setup()
     {
@@ -43,6 +47,65 @@ public class ModConfig
         if (key == null || !key.location().getNamespace().equals(BiomesOPlenty.MOD_ID))
             return false;
 
+        Boolean enabled = getResolvedBiomeToggles().get(key);
+
+        // Biomes which aren't known to BOPBiomes are resolved individually
+        if (enabled == null)
+        {
+            enabled = resolveBiomeToggle(key);
+        }
+
+        return enabled;
+    }
+
+    private static Map<ResourceKey<Biome>, Boolean> getResolvedBiomeToggles()
+    {
+        Map<ResourceKey<Biome>, Boolean> resolved = resolvedBiomeToggles;
+
+        if (resolved == null)
+        {
+            resolved = resolveBiomeToggles();
+        }
+        return resolved;
+    }
+
+    // Resolves the toggles for every biome at once, adding any which are missing with a single write to the config file
+    private static synchronized Map<ResourceKey<Biome>, Boolean> resolveBiomeToggles()
+    {
+        if (resolvedBiomeToggles != null)
+            return resolvedBiomeToggles;
+
+        Map<String, Boolean> biomeToggles = getBiomeToggles();
+        Map<ResourceKey<Biome>, Boolean> resolved = Maps.newHashMap();
+        boolean changed = false;
+
+        for (ResourceKey<Biome> key : BOPBiomes.getAllBiomes())
+        {
+            String optionName = getBiomeConfigOptionName(key);
+            Boolean enabled = biomeToggles.get(optionName);
+
+            // Add the biome toggle if it is missing
+            if (enabled == null)
+            {
+                enabled = true;
+                biomeToggles.put(optionName, enabled);
+                changed = true;
+            }
+
+            resolved.put(key, enabled);
+        }
+
+        if (changed)
+        {
+            updateConfigFile();
+        }
+
+        resolvedBiomeToggles = ImmutableMap.copyOf(resolved);
+        return resolvedBiomeToggles;
+    }
+
+    private static synchronized boolean resolveBiomeToggle(ResourceKey<Biome> key)
+    {
         String optionName = getBiomeConfigOptionName(key);
         Map<String, Boolean> biomeToggles = getBiomeToggles();
 
@@ -52,7 +115,11 @@ public class ModConfig
             addBiomeToggle(key);
         }
 
-        return biomeToggles.get(optionName);
+        boolean enabled = biomeToggles.get(optionName);
+        Map<ResourceKey<Biome>, Boolean> resolved = Maps.newHashMap(getResolvedBiomeToggles());
+        resolved.put(key, enabled);
+        resolvedBiomeToggles = ImmutableMap.copyOf(resolved);
+        return enabled;
     }
 
     private static Map<String, Boolean> getBiomeToggles()
@@ -61,6 +128,12 @@ public class ModConfig
         {
             createConfigDirectoryIfNecessary();
             biomeToggles = JsonUtil.getOrCreateConfigFile(getBOPConfigPath().toFile(), BIOME_CONFIG_FILE_NAME, defaultBiomeToggles, new TypeToken<TreeMap<String, Boolean>>(){}.getType());
+
+            // Fall back to the defaults if the file couldn't be read
+            if (biomeToggles == null)
+            {
+                biomeToggles = Maps.newTreeMap(defaultBiomeToggles);
+            }
         }
         return biomeToggles;
     }
@@ -40,6 +40,7 @@ public class ModTags
         public static final TagKey<Block> HELLBARK_LOGS = create(ResourceLocation.fromNamespaceAndPath(BiomesOPlenty.MOD_ID, "hellbark_logs"));
         public static final TagKey<Block> EMPYREAL_LOGS = create(ResourceLocation.fromNamespaceAndPath(BiomesOPlenty.MOD_ID, "empyreal_logs"));
 
+        public static final TagKey<Block> CARVER_REPLACEABLES = create(ResourceLocation.fromNamespaceAndPath(BiomesOPlenty.MOD_ID, "carver_replaceables"));
         public static final TagKey<Block> BLACKSTONE_DECORATION_PLACEABLE = create(ResourceLocation.fromNamespaceAndPath(BiomesOPlenty.MOD_ID, "blackstone_decoration_placeable"));
         public static final TagKey<Block> BRIMSTONE_DECORATION_PLACEABLE = create(ResourceLocation.fromNamespaceAndPath(BiomesOPlenty.MOD_ID, "brimstone_decoration_placeable"));
         public static final TagKey<Block> DEAD_CORALS = create(ResourceLocation.fromNamespaceAndPath(BiomesOPlenty.MOD_ID, "dead_corals"));
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.mixin;
+
+import biomesoplenty.util.RandomTickProfiler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(BlockBehaviour.BlockStateBase.class)
+public abstract class MixinBlockStateBase
+{
+    @Inject(method = "randomTick", at = @At("HEAD"))
+    private void onRandomTickBegin(ServerLevel level, BlockPos pos, RandomSource random, CallbackInfo ci)
+    {
+        if (RandomTickProfiler.isEnabled())
+        {
+            RandomTickProfiler.begin((BlockState)(Object)this, level, pos);
+        }
+    }
+
+    @Inject(method = "randomTick", at = @At("RETURN"))
+    private void onRandomTickEnd(ServerLevel level, BlockPos pos, RandomSource random, CallbackInfo ci)
+    {
+        if (RandomTickProfiler.isEnabled())
+        {
+            RandomTickProfiler.end();
+        }
+    }
+}
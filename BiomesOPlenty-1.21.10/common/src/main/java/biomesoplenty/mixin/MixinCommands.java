@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.mixin;
+
+import biomesoplenty.init.ModCommands;
+import com.mojang.brigadier.CommandDispatcher;
+import net.minecraft.commands.CommandBuildContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Commands.class)
+public abstract class MixinCommands
+{
+    @Shadow @Final private CommandDispatcher<CommandSourceStack> dispatcher;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void onInit(Commands.CommandSelection selection, CommandBuildContext context, CallbackInfo ci)
+    {
+        ModCommands.register(this.dispatcher);
+    }
+}
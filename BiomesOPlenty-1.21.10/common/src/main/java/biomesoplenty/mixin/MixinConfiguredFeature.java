@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.mixin;
+
+import biomesoplenty.util.worldgen.FeatureProfiler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
+import net.minecraft.world.level.levelgen.feature.Feature;
+import net.minecraft.world.level.levelgen.feature.configurations.FeatureConfiguration;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+@Mixin(ConfiguredFeature.class)
+public abstract class MixinConfiguredFeature
+{
+    @Redirect(method = "place", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/levelgen/feature/Feature;place(Lnet/minecraft/world/level/levelgen/feature/configurations/FeatureConfiguration;Lnet/minecraft/world/level/WorldGenLevel;Lnet/minecraft/world/level/chunk/ChunkGenerator;Lnet/minecraft/util/RandomSource;Lnet/minecraft/core/BlockPos;)Z"))
+    private boolean onPlace(Feature<FeatureConfiguration> feature, FeatureConfiguration config, WorldGenLevel level, ChunkGenerator generator, RandomSource random, BlockPos origin)
+    {
+        if (!FeatureProfiler.isEnabled() || !FeatureProfiler.begin(feature, level, origin))
+        {
+            return feature.place(config, level, generator, random, origin);
+        }
+
+        boolean completed = false;
+
+        try
+        {
+            boolean placed = feature.place(config, level, generator, random, origin);
+            completed = true;
+            FeatureProfiler.end(placed);
+            return placed;
+        }
+        finally
+        {
+            // The frame must come off the stack even if placement throws
+            if (!completed)
+            {
+                FeatureProfiler.discard();
+            }
+        }
+    }
+}
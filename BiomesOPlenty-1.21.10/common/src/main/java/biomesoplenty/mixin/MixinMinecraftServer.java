@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.mixin;
+
+import biomesoplenty.util.RandomTickProfiler;
+import biomesoplenty.util.worldgen.FeatureProfiler;
+import net.minecraft.server.MinecraftServer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(MinecraftServer.class)
+public abstract class MixinMinecraftServer
+{
+    @Inject(method = "stopServer", at = @At("HEAD"))
+    private void onStopServer(CallbackInfo ci)
+    {
+        if (FeatureProfiler.isEnabled())
+        {
+            FeatureProfiler.logReport();
+        }
+
+        if (RandomTickProfiler.isEnabled())
+        {
+            RandomTickProfiler.logReport();
+        }
+    }
+}
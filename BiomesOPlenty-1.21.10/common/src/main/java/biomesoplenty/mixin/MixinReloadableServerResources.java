@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.mixin;
+
+import biomesoplenty.util.worldgen.BlockStateTable;
+import net.minecraft.server.ReloadableServerResources;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ReloadableServerResources.class)
+public abstract class MixinReloadableServerResources
+{
+    @Inject(method = "updateStaticRegistryTags", at = @At("TAIL"))
+    private void onUpdateStaticRegistryTags(CallbackInfo ci)
+    {
+        // Block tags may have changed, so any cached predicates must be recomputed
+        BlockStateTable.invalidateAll();
+    }
+}
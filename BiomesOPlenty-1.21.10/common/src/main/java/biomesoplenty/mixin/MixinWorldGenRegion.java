@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.mixin;
+
+import biomesoplenty.util.worldgen.FeatureProfiler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.WorldGenRegion;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(WorldGenRegion.class)
+public abstract class MixinWorldGenRegion
+{
+    @Inject(method = "setBlock", at = @At("RETURN"))
+    private void onSetBlock(BlockPos pos, BlockState state, int flags, int recursionLeft, CallbackInfoReturnable<Boolean> cir)
+    {
+        if (FeatureProfiler.isEnabled() && cir.getReturnValueZ())
+        {
+            FeatureProfiler.onBlockSet();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.particle;
+
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.particle.Particle;
+import net.minecraft.client.particle.ParticleProvider;
+import net.minecraft.client.particle.SingleQuadParticle;
+import net.minecraft.client.particle.SpriteSet;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.particles.SimpleParticleType;
+import net.minecraft.util.RandomSource;
+
+public abstract class FallingLeafParticle extends SingleQuadParticle
+{
+    private final LeafDrift drift;
+    private final int driftBucket;
+    private final float spinAcceleration;
+    private float rotSpeed;
+    private long budgetChunk = LeafParticleBudget.UNTRACKED;
+
+    protected FallingLeafParticle(ClientLevel level, double x, double y, double z, TextureAtlasSprite sprite, LeafDrift drift)
+    {
+        super(level, x, y, z, sprite);
+        this.drift = drift;
+        this.rotSpeed = (float)Math.toRadians(this.random.nextBoolean() ? -30.0D : 30.0D);
+        this.driftBucket = LeafDrift.bucket(this.random.nextFloat());
+        this.spinAcceleration = (float)Math.toRadians(this.random.nextBoolean() ? -5.0D : 5.0D);
+        this.lifetime = LeafDrift.LIFETIME;
+        this.friction = 1.0F;
+    }
+
+    protected void setLeafSize(float size)
+    {
+        this.quadSize = size;
+        this.setSize(size, size);
+    }
+
+    @Override
+    public SingleQuadParticle.Layer getLayer()
+    {
+        return SingleQuadParticle.Layer.OPAQUE;
+    }
+
+    @Override
+    public void tick()
+    {
+        this.xo = this.x;
+        this.yo = this.y;
+        this.zo = this.z;
+        if (this.lifetime-- <= 0)
+        {
+            this.remove();
+        }
+
+        if (!this.removed)
+        {
+            int age = LeafDrift.LIFETIME - this.lifetime;
+            this.xd += this.drift.getX(this.driftBucket, age);
+            this.zd += this.drift.getZ(this.driftBucket, age);
+            this.yd -= this.gravity;
+            this.rotSpeed += this.spinAcceleration / 20.0F;
+            this.oRoll = this.roll;
+            this.roll += this.rotSpeed / 20.0F;
+            this.move(this.xd, this.yd, this.zd);
+            if (this.onGround || this.lifetime < LeafDrift.LIFETIME - 1 && (this.xd == 0.0D || this.zd == 0.0D))
+            {
+                this.remove();
+            }
+
+            if (!this.removed)
+            {
+                this.xd *= this.friction;
+                this.yd *= this.friction;
+                this.zd *= this.friction;
+            }
+        }
+    }
+
+    @Override
+    public void remove()
+    {
+        if (!this.removed)
+        {
+            LeafParticleBudget.release(this.budgetChunk);
+        }
+        super.remove();
+    }
+
+    public interface Factory
+    {
+        FallingLeafParticle create(ClientLevel level, double x, double y, double z, SpriteSet sprites, TextureAtlasSprite sprite);
+    }
+
+    // Shared by every type of falling leaf, checking the chunk's particle budget before anything is created
+    public static class Provider implements ParticleProvider<SimpleParticleType>
+    {
+        private final SpriteSet sprites;
+        private final Factory factory;
+
+        public Provider(SpriteSet sprites, Factory factory)
+        {
+            this.sprites = sprites;
+            this.factory = factory;
+        }
+
+        @Override
+        public Particle createParticle(SimpleParticleType type, ClientLevel level, double x, double y, double z, double xd, double yd, double zd, RandomSource random)
+        {
+            long chunk = LeafParticleBudget.tryAcquire(level, x, z, random);
+
+            if (chunk == LeafParticleBudget.REJECTED)
+            {
+                return null;
+            }
+
+            FallingLeafParticle particle = this.factory.create(level, x, y, z, this.sprites, this.sprites.get(random));
+            particle.budgetChunk = chunk;
+            return particle;
+        }
+    }
+}
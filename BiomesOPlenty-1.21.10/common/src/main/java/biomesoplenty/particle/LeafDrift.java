@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.particle;
+
+/**
+ * Precomputed horizontal drift curves for falling leaves. Each particle picks one of a fixed number of buckets when it
+ * is spawned, and each bucket holds the acceleration to apply on every tick of the particle's life, so ticking a leaf
+ * is a pair of array reads rather than trigonometry and powers.
+ */
+public class LeafDrift
+{
+    public static final int LIFETIME = 300;
+    public static final int BUCKETS = 64;
+
+    private static final int CURVE_LENGTH = LIFETIME + 1;
+    private static final float ACCELERATION_SCALE = 0.0025F;
+
+    // Leaves which are gradually blown away in a direction between 0 and 60 degrees
+    public static final LeafDrift FLOW = new LeafDrift(2.0F, false);
+    // Leaves which swirl around as they fall
+    public static final LeafDrift SWIRL = new LeafDrift(2.5F, true);
+
+    private final float[] x = new float[BUCKETS * CURVE_LENGTH];
+    private final float[] z = new float[BUCKETS * CURVE_LENGTH];
+
+    private LeafDrift(float wind, boolean swirl)
+    {
+        for (int bucket = 0; bucket < BUCKETS; bucket++)
+        {
+            // Each bucket uses the value at its centre
+            double particleRandom = (bucket + 0.5D) / BUCKETS;
+            double direction = Math.toRadians(particleRandom * 60.0D);
+            double swirlPeriod = Math.toRadians(1000.0D + particleRandom * 3000.0D);
+
+            for (int age = 0; age < CURVE_LENGTH; age++)
+            {
+                double progress = (double)age / LIFETIME;
+                double dx;
+                double dz;
+
+                if (swirl)
+                {
+                    dx = progress * Math.cos(progress * swirlPeriod) * wind;
+                    dz = progress * Math.sin(progress * swirlPeriod) * wind;
+                }
+                else
+                {
+                    double flow = Math.pow(progress, 1.25D) * wind;
+                    dx = Math.cos(direction) * flow;
+                    dz = Math.sin(direction) * flow;
+                }
+
+                this.x[bucket * CURVE_LENGTH + age] = (float)(dx * ACCELERATION_SCALE);
+                this.z[bucket * CURVE_LENGTH + age] = (float)(dz * ACCELERATION_SCALE);
+            }
+        }
+    }
+
+    public static int bucket(float particleRandom)
+    {
+        return Math.min((int)(particleRandom * BUCKETS), BUCKETS - 1);
+    }
+
+    // Age is the number of ticks the particle has lived, clamped to the lifetime
+    public float getX(int bucket, int age)
+    {
+        return this.x[bucket * CURVE_LENGTH + Math.min(age, LIFETIME)];
+    }
+
+    public float getZ(int bucket, int age)
+    {
+        return this.z[bucket * CURVE_LENGTH + Math.min(age, LIFETIME)];
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.particle;
+
+import biomesoplenty.init.ModConfig;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * Limits the number of falling leaves alive in each chunk on the client. Once a chunk is half way to its budget new
+ * leaves are spawned less and less often, and none are spawned once the budget is used up. All access happens on the
+ * client thread.
+ */
+public class LeafParticleBudget
+{
+    public static final long UNTRACKED = Long.MIN_VALUE;
+    public static final long REJECTED = Long.MAX_VALUE;
+
+    private static final int PRUNE_INTERVAL = 100;
+
+    private static final Long2IntOpenHashMap LIVE = new Long2IntOpenHashMap();
+    private static final Long2LongOpenHashMap LAST_SPAWN = new Long2LongOpenHashMap();
+    private static ClientLevel trackedLevel;
+    private static long lastPrune;
+
+    // Returns the chunk to charge the new particle to, or REJECTED if the chunk's budget doesn't allow for it
+    public static long tryAcquire(ClientLevel level, double x, double z, RandomSource random)
+    {
+        int budget = ModConfig.client.leafParticleBudget;
+
+        if (budget <= 0)
+        {
+            return UNTRACKED;
+        }
+
+        long gameTime = level.getGameTime();
+
+        if (level != trackedLevel)
+        {
+            LIVE.clear();
+            LAST_SPAWN.clear();
+            trackedLevel = level;
+            lastPrune = gameTime;
+        }
+        else if (gameTime - lastPrune >= PRUNE_INTERVAL)
+        {
+            prune(gameTime);
+            lastPrune = gameTime;
+        }
+
+        long chunk = ChunkPos.asLong(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+        int live = LIVE.get(chunk);
+        int softLimit = budget / 2;
+
+        if (live >= budget || (live >= softLimit && random.nextInt(budget - softLimit) < live - softLimit))
+        {
+            return REJECTED;
+        }
+
+        LIVE.addTo(chunk, 1);
+        LAST_SPAWN.put(chunk, gameTime);
+        return chunk;
+    }
+
+    public static void release(long chunk)
+    {
+        if (chunk == UNTRACKED)
+        {
+            return;
+        }
+
+        if (LIVE.addTo(chunk, -1) <= 1)
+        {
+            LIVE.remove(chunk);
+            LAST_SPAWN.remove(chunk);
+        }
+    }
+
+    // Particles dropped by the particle engine when it is full are never removed, so forget any chunk which can't have live leaves left
+    private static void prune(long gameTime)
+    {
+        ObjectIterator<Long2LongMap.Entry> iterator = LAST_SPAWN.long2LongEntrySet().fastIterator();
+
+        while (iterator.hasNext())
+        {
+            Long2LongMap.Entry entry = iterator.next();
+
+            if (gameTime - entry.getLongValue() > LeafDrift.LIFETIME)
+            {
+                LIVE.remove(entry.getLongKey());
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util;
+
+import biomesoplenty.core.BiomesOPlenty;
+import biomesoplenty.init.ModConfig;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the random ticks consumed by BOP blocks, totalled per block and per chunk. Random ticks only run on the
+ * server thread, so no synchronization is needed. Profiling is enabled from the gameplay config and is read once.
+ */
+public class RandomTickProfiler
+{
+    private static final boolean ENABLED = ModConfig.gameplay.profileRandomTicks;
+    private static final int TOP_CHUNKS = 10;
+
+    private static final Map<Block, Stats> BLOCK_STATS = new HashMap<>();
+    private static final Map<ResourceKey<Level>, Long2LongOpenHashMap> CHUNK_TICKS = new HashMap<>();
+
+    private static Block currentBlock;
+    private static long start;
+
+    public static boolean isEnabled()
+    {
+        return ENABLED;
+    }
+
+    public static void begin(BlockState state, ServerLevel level, BlockPos pos)
+    {
+        Block block = state.getBlock();
+
+        if (!BuiltInRegistries.BLOCK.getKey(block).getNamespace().equals(BiomesOPlenty.MOD_ID))
+        {
+            currentBlock = null;
+            return;
+        }
+
+        CHUNK_TICKS.computeIfAbsent(level.dimension(), k -> new Long2LongOpenHashMap()).addTo(ChunkPos.asLong(pos), 1);
+        currentBlock = block;
+        start = System.nanoTime();
+    }
+
+    public static void end()
+    {
+        if (currentBlock == null)
+        {
+            return;
+        }
+
+        BLOCK_STATS.computeIfAbsent(currentBlock, k -> new Stats()).add(System.nanoTime() - start);
+        currentBlock = null;
+    }
+
+    public static void reset()
+    {
+        BLOCK_STATS.clear();
+        CHUNK_TICKS.clear();
+    }
+
+    public static List<String> createReport()
+    {
+        List<String> lines = new ArrayList<>();
+        long totalTicks = BLOCK_STATS.values().stream().mapToLong(stats -> stats.ticks).sum();
+        long chunks = CHUNK_TICKS.values().stream().mapToLong(Long2LongOpenHashMap::size).sum();
+
+        lines.add(String.format("Random ticks: %d ticks across %d chunks, %.1f ticks/chunk", totalTicks, chunks, chunks == 0 ? 0.0D : (double)totalTicks / chunks));
+        lines.add("Random ticks by block:");
+
+        // Sorted by total time so that the most expensive blocks come first
+        BLOCK_STATS.entrySet().stream().sorted(Comparator.comparingLong((Map.Entry<Block, Stats> entry) -> entry.getValue().nanos).reversed()).forEach(entry -> {
+            Stats stats = entry.getValue();
+            lines.add(String.format("  %-56s %10.2f ms total %10.0f ns/tick %10d ticks", BuiltInRegistries.BLOCK.getKey(entry.getKey()), stats.nanos / 1.0E6D, (double)stats.nanos / stats.ticks, stats.ticks));
+        });
+
+        lines.add("Busiest chunks:");
+
+        for (Map.Entry<ResourceKey<Level>, Long2LongOpenHashMap> dimension : CHUNK_TICKS.entrySet())
+        {
+            ResourceLocation location = dimension.getKey().location();
+
+            dimension.getValue().long2LongEntrySet().stream().sorted(Comparator.comparingLong(Long2LongMap.Entry::getLongValue).reversed()).limit(TOP_CHUNKS).forEach(entry -> {
+                ChunkPos chunk = new ChunkPos(entry.getLongKey());
+                lines.add(String.format("  %-56s %10d ticks", location + " " + chunk.x + ", " + chunk.z, entry.getLongValue()));
+            });
+        }
+
+        return lines;
+    }
+
+    public static void logReport()
+    {
+        if (BLOCK_STATS.isEmpty())
+        {
+            return;
+        }
+
+        for (String line : createReport())
+        {
+            BiomesOPlenty.LOGGER.info(line);
+        }
+    }
+
+    private static class Stats
+    {
+        private long ticks;
+        private long nanos;
+
+        private void add(long nanos)
+        {
+            this.ticks++;
+            this.nanos += nanos;
+        }
+    }
+}
@@ -4,10 +4,13 @@
  ******************************************************************************/
 package biomesoplenty.util;
 
+import biomesoplenty.util.worldgen.BlockStateTable;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.block.state.BlockState;
 
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 public interface SimpleBlockPredicate extends BiPredicate<WorldGenLevel, BlockPos>
 {
@@ -15,4 +18,29 @@ public interface SimpleBlockPredicate extends BiPredicate<WorldGenLevel, BlockPo
     default boolean matches(WorldGenLevel world, BlockPos pos) {
         return this.test(world, pos);
     }
+
+    // The block state predicate backing this predicate, or null if it depends on more than just the block state
+    default Predicate<BlockState> statePredicate() {
+        return null;
+    }
+
+    // For predicates which only depend on the block state. These are precomputed for every state and become a single table lookup.
+    static SimpleBlockPredicate ofState(Predicate<BlockState> predicate)
+    {
+        BlockStateTable table = BlockStateTable.create(predicate);
+        return new SimpleBlockPredicate()
+        {
+            @Override
+            public boolean test(WorldGenLevel world, BlockPos pos)
+            {
+                return table.test(world.getBlockState(pos));
+            }
+
+            @Override
+            public Predicate<BlockState> statePredicate()
+            {
+                return table;
+            }
+        };
+    }
 }
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util.biome;
+
+import biomesoplenty.core.BiomesOPlenty;
+import com.mojang.datafixers.util.Pair;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.Climate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Collects the parameter points produced by a biome builder and merges boxes which resolve to the same biome into as
+ * few points as possible before they are handed to TerraBlender. Two boxes are merged when they have the same biome
+ * and offset, are identical on all but one parameter, and touch or overlap on the remaining one. The distance from
+ * any climate to the merged box is the smaller of its distances to the originals, so lookups are unaffected.
+ */
+public class ClimatePointMerger implements Consumer<Pair<Climate.ParameterPoint, ResourceKey<Biome>>>
+{
+    private static final int PARAMETER_COUNT = 6;
+
+    private final List<Box> boxes = new ArrayList<>();
+
+    // Runs the builder, then passes the merged points on to the mapper and logs how many points the region contributes
+    public static void addMerged(ResourceLocation region, Consumer<Consumer<Pair<Climate.ParameterPoint, ResourceKey<Biome>>>> builder, Consumer<Pair<Climate.ParameterPoint, ResourceKey<Biome>>> mapper)
+    {
+        ClimatePointMerger merger = new ClimatePointMerger();
+        builder.accept(merger);
+
+        int originalCount = merger.boxes.size();
+        List<Pair<Climate.ParameterPoint, ResourceKey<Biome>>> merged = merger.merge();
+        merged.forEach(mapper);
+
+        BiomesOPlenty.LOGGER.info("Region " + region + " contributes " + merged.size() + " climate points (merged from " + originalCount + ")");
+    }
+
+    @Override
+    public void accept(Pair<Climate.ParameterPoint, ResourceKey<Biome>> pair)
+    {
+        Climate.ParameterPoint point = pair.getFirst();
+        Climate.Parameter[] parameters = { point.temperature(), point.humidity(), point.continentalness(), point.erosion(), point.depth(), point.weirdness() };
+        long[] min = new long[PARAMETER_COUNT];
+        long[] max = new long[PARAMETER_COUNT];
+
+        for (int i = 0; i < PARAMETER_COUNT; i++)
+        {
+            min[i] = parameters[i].min();
+            max[i] = parameters[i].max();
+        }
+
+        this.boxes.add(new Box(min, max, point.offset(), pair.getSecond(), this.boxes.size()));
+    }
+
+    public List<Pair<Climate.ParameterPoint, ResourceKey<Biome>>> merge()
+    {
+        List<Box> current = new ArrayList<>(this.boxes);
+        boolean changed = true;
+
+        // Merging along one parameter can line boxes up for merging along another, so repeat until nothing changes
+        while (changed)
+        {
+            changed = false;
+
+            for (int axis = 0; axis < PARAMETER_COUNT; axis++)
+            {
+                int sizeBefore = current.size();
+                current = mergeAxis(current, axis);
+                changed |= current.size() != sizeBefore;
+            }
+        }
+
+        // Keep the builder's original ordering as far as possible
+        current.sort(Comparator.comparingInt(box -> box.order));
+
+        List<Pair<Climate.ParameterPoint, ResourceKey<Biome>>> points = new ArrayList<>(current.size());
+
+        for (Box box : current)
+        {
+            points.add(Pair.of(box.toParameterPoint(), box.biome));
+        }
+        return points;
+    }
+
+    private static List<Box> mergeAxis(List<Box> boxes, int axis)
+    {
+        Map<GroupKey, List<Box>> groups = new LinkedHashMap<>();
+
+        for (Box box : boxes)
+        {
+            groups.computeIfAbsent(new GroupKey(box, axis), key -> new ArrayList<>()).add(box);
+        }
+
+        List<Box> merged = new ArrayList<>(boxes.size());
+
+        for (List<Box> group : groups.values())
+        {
+            if (group.size() == 1)
+            {
+                merged.add(group.get(0));
+                continue;
+            }
+
+            group.sort(Comparator.comparingLong(box -> box.min[axis]));
+            Box current = group.get(0).copy();
+
+            for (int i = 1; i < group.size(); i++)
+            {
+                Box next = group.get(i);
+
+                if (next.min[axis] <= current.max[axis])
+                {
+                    current.max[axis] = Math.max(current.max[axis], next.max[axis]);
+                    current.order = Math.min(current.order, next.order);
+                }
+                else
+                {
+                    merged.add(current);
+                    current = next.copy();
+                }
+            }
+
+            merged.add(current);
+        }
+
+        return merged;
+    }
+
+    private static class Box
+    {
+        private final long[] min;
+        private final long[] max;
+        private final long offset;
+        private final ResourceKey<Biome> biome;
+        private int order;
+
+        private Box(long[] min, long[] max, long offset, ResourceKey<Biome> biome, int order)
+        {
+            this.min = min;
+            this.max = max;
+            this.offset = offset;
+            this.biome = biome;
+            this.order = order;
+        }
+
+        private Box copy()
+        {
+            return new Box(this.min.clone(), this.max.clone(), this.offset, this.biome, this.order);
+        }
+
+        private Climate.ParameterPoint toParameterPoint()
+        {
+            return new Climate.ParameterPoint(parameter(0), parameter(1), parameter(2), parameter(3), parameter(4), parameter(5), this.offset);
+        }
+
+        private Climate.Parameter parameter(int index)
+        {
+            return new Climate.Parameter(this.min[index], this.max[index]);
+        }
+    }
+
+    // Identifies boxes which may be merged along the given axis
+    private static class GroupKey
+    {
+        private final ResourceKey<Biome> biome;
+        private final long offset;
+        private final long[] bounds;
+
+        private GroupKey(Box box, int axis)
+        {
+            this.biome = box.biome;
+            this.offset = box.offset;
+            this.bounds = new long[PARAMETER_COUNT * 2];
+
+            for (int i = 0; i < PARAMETER_COUNT; i++)
+            {
+                // The axis being merged along may differ
+                if (i != axis)
+                {
+                    this.bounds[i * 2] = box.min[i];
+                    this.bounds[i * 2 + 1] = box.max[i];
+                }
+            }
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) return true;
+            if (!(o instanceof GroupKey other)) return false;
+            return this.biome == other.biome && this.offset == other.offset && Arrays.equals(this.bounds, other.bounds);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * (31 * System.identityHashCode(this.biome) + Long.hashCode(this.offset)) + Arrays.hashCode(this.bounds);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util.worldgen;
+
+import net.minecraft.core.IdMapper;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * A block state predicate evaluated once for every registered block state and stored as a bitset indexed by the
+ * state's id. Tables are rebuilt lazily after tags are reloaded, so predicates may safely depend on block tags.
+ */
+public class BlockStateTable implements Predicate<BlockState>
+{
+    private static final List<BlockStateTable> TABLES = new CopyOnWriteArrayList<>();
+
+    private final Predicate<BlockState> predicate;
+    private volatile long[] bits;
+
+    private BlockStateTable(Predicate<BlockState> predicate)
+    {
+        this.predicate = predicate;
+    }
+
+    public static BlockStateTable create(Predicate<BlockState> predicate)
+    {
+        BlockStateTable table = new BlockStateTable(predicate);
+        TABLES.add(table);
+        return table;
+    }
+
+    public static void invalidateAll()
+    {
+        for (BlockStateTable table : TABLES)
+        {
+            table.bits = null;
+        }
+    }
+
+    @Override
+    public boolean test(BlockState state)
+    {
+        long[] bits = this.bits;
+
+        if (bits == null)
+        {
+            bits = this.build();
+        }
+
+        int id = Block.getId(state);
+        return (bits[id >>> 6] & (1L << id)) != 0L;
+    }
+
+    /**
+     * Times lookups through the table against evaluating its predicate directly, over every registered block state
+     * in a shuffled order. Both are warmed up first, and the table is built before timing starts.
+     */
+    public Timing benchmark(int rounds)
+    {
+        List<BlockState> states = new ArrayList<>();
+        Block.BLOCK_STATE_REGISTRY.forEach(states::add);
+        BlockState[] order = states.toArray(BlockState[]::new);
+        RandomSource random = RandomSource.create(0L);
+
+        for (int i = order.length - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+            BlockState swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+
+        // Count matches so that the lookups can't be optimised away, and check the two agree
+        int warmupRounds = Math.max(1, rounds / 10);
+        time(this, order, warmupRounds);
+        time(this.predicate, order, warmupRounds);
+
+        long tableStart = System.nanoTime();
+        long tableMatches = time(this, order, rounds);
+        long tableNanos = System.nanoTime() - tableStart;
+
+        long predicateStart = System.nanoTime();
+        long predicateMatches = time(this.predicate, order, rounds);
+        long predicateNanos = System.nanoTime() - predicateStart;
+
+        long lookups = (long)order.length * rounds;
+        return new Timing(lookups, (double)tableNanos / lookups, (double)predicateNanos / lookups, tableMatches == predicateMatches);
+    }
+
+    private static long time(Predicate<BlockState> predicate, BlockState[] order, int rounds)
+    {
+        long matches = 0L;
+
+        for (int round = 0; round < rounds; round++)
+        {
+            for (BlockState state : order)
+            {
+                if (predicate.test(state)) matches++;
+            }
+        }
+
+        return matches;
+    }
+
+    public record Timing(long lookups, double tableNanosPerLookup, double predicateNanosPerLookup, boolean matches) {}
+
+    private synchronized long[] build()
+    {
+        // Another thread may have finished building whilst we were waiting
+        if (this.bits != null)
+        {
+            return this.bits;
+        }
+
+        IdMapper<BlockState> registry = Block.BLOCK_STATE_REGISTRY;
+        long[] bits = new long[(registry.size() + 63) >>> 6];
+
+        for (BlockState state : registry)
+        {
+            if (this.predicate.test(state))
+            {
+                int id = registry.getId(state);
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+
+        this.bits = bits;
+        return bits;
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util.worldgen;
+
+import biomesoplenty.util.SimpleBlockPredicate;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * An immutable list of block offsets, each tagged with a palette slot. Templates are compiled once and stamped into
+ * the world with a palette supplied at placement time, so colour variants share the same shape.
+ */
+public class BlockTemplate
+{
+    private final int[] xOffsets;
+    private final int[] yOffsets;
+    private final int[] zOffsets;
+    private final byte[] slots;
+    private final int minY;
+    private final int maxY;
+
+    private BlockTemplate(int[] xOffsets, int[] yOffsets, int[] zOffsets, byte[] slots)
+    {
+        this.xOffsets = xOffsets;
+        this.yOffsets = yOffsets;
+        this.zOffsets = zOffsets;
+        this.slots = slots;
+
+        int minY = 0;
+        int maxY = 0;
+
+        for (int y : yOffsets)
+        {
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+
+        this.minY = minY;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Compiles a template from horizontal slices, starting at minY and working upwards. Each slice is a list of rows
+     * running north to south, with each row running west to east and centered on the origin. Digits select a palette
+     * slot and any other character is left untouched.
+     */
+    public static BlockTemplate fromLayers(int minY, String[]... layers)
+    {
+        IntArrayList xs = new IntArrayList();
+        IntArrayList ys = new IntArrayList();
+        IntArrayList zs = new IntArrayList();
+        IntArrayList slots = new IntArrayList();
+
+        for (int layer = 0; layer < layers.length; layer++)
+        {
+            String[] rows = layers[layer];
+            int zCenter = rows.length / 2;
+
+            for (int row = 0; row < rows.length; row++)
+            {
+                String line = rows[row];
+                int xCenter = line.length() / 2;
+
+                for (int column = 0; column < line.length(); column++)
+                {
+                    char c = line.charAt(column);
+
+                    if (c >= '0' && c <= '9')
+                    {
+                        xs.add(column - xCenter);
+                        ys.add(minY + layer);
+                        zs.add(row - zCenter);
+                        slots.add(c - '0');
+                    }
+                }
+            }
+        }
+
+        byte[] slotArray = new byte[slots.size()];
+
+        for (int i = 0; i < slotArray.length; i++)
+        {
+            slotArray[i] = (byte)slots.getInt(i);
+        }
+
+        return new BlockTemplate(xs.toIntArray(), ys.toIntArray(), zs.toIntArray(), slotArray);
+    }
+
+    // Rotates a template defined facing north so that it faces the given horizontal direction
+    public BlockTemplate facing(Direction direction)
+    {
+        Rotation rotation = switch (direction)
+        {
+            case EAST -> Rotation.CLOCKWISE_90;
+            case SOUTH -> Rotation.CLOCKWISE_180;
+            case WEST -> Rotation.COUNTERCLOCKWISE_90;
+            default -> Rotation.NONE;
+        };
+
+        if (rotation == Rotation.NONE)
+        {
+            return this;
+        }
+
+        int size = this.size();
+        int[] xs = new int[size];
+        int[] zs = new int[size];
+
+        for (int i = 0; i < size; i++)
+        {
+            BlockPos rotated = new BlockPos(this.xOffsets[i], 0, this.zOffsets[i]).rotate(rotation);
+            xs[i] = rotated.getX();
+            zs[i] = rotated.getZ();
+        }
+
+        return new BlockTemplate(xs, this.yOffsets, zs, this.slots);
+    }
+
+    public int size()
+    {
+        return this.slots.length;
+    }
+
+    public int getMinY()
+    {
+        return this.minY;
+    }
+
+    public int getMaxY()
+    {
+        return this.maxY;
+    }
+
+    // Whether every position in the template may be replaced
+    public boolean isFree(WorldGenLevel world, BlockPos origin, SimpleBlockPredicate replace)
+    {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+        for (int i = 0; i < this.slots.length; i++)
+        {
+            pos.setWithOffset(origin, this.xOffsets[i], this.yOffsets[i], this.zOffsets[i]);
+
+            if (!replace.matches(world, pos))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // Places the template, skipping any positions which may not be replaced
+    public void place(WorldGenLevel world, BlockPos origin, BlockState[] palette, SimpleBlockPredicate replace)
+    {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+        for (int i = 0; i < this.slots.length; i++)
+        {
+            pos.setWithOffset(origin, this.xOffsets[i], this.yOffsets[i], this.zOffsets[i]);
+
+            if (replace.matches(world, pos))
+            {
+                world.setBlock(pos, palette[this.slots[i]], 3);
+            }
+        }
+    }
+}
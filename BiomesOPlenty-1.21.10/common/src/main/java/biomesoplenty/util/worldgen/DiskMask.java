@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util.worldgen;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * An immutable list of horizontal offsets making up a filled shape around a center column. Offsets are ordered
+ * with x in the outer loop and z in the inner loop, matching the nested loops the masks replace.
+ */
+public class DiskMask
+{
+    private static final int CIRCLE_STEPS = 4;
+    private static final int MAX_CACHED_RADIUS = 16;
+    private static final DiskMask[] CIRCLES = new DiskMask[MAX_CACHED_RADIUS * CIRCLE_STEPS + 1];
+    private static final DiskMask[] SQUARES = new DiskMask[MAX_CACHED_RADIUS + 1];
+    private static final DiskMask[] RINGS = new DiskMask[MAX_CACHED_RADIUS + 1];
+    private static final DiskMask EMPTY = new DiskMask(new int[0], new int[0]);
+
+    static
+    {
+        for (int i = 0; i < CIRCLES.length; i++)
+        {
+            CIRCLES[i] = computeCircle((float)i / CIRCLE_STEPS);
+        }
+
+        for (int radius = 0; radius <= MAX_CACHED_RADIUS; radius++)
+        {
+            SQUARES[radius] = computeSquare(radius);
+            RINGS[radius] = computeRing(radius);
+        }
+    }
+
+    private final int[] xOffsets;
+    private final int[] zOffsets;
+
+    private DiskMask(int[] xOffsets, int[] zOffsets)
+    {
+        this.xOffsets = xOffsets;
+        this.zOffsets = zOffsets;
+    }
+
+    public int size()
+    {
+        return this.xOffsets.length;
+    }
+
+    public int getX(int index)
+    {
+        return this.xOffsets[index];
+    }
+
+    public int getZ(int index)
+    {
+        return this.zOffsets[index];
+    }
+
+    // Cells whose centers (offset by half a block towards the middle) lie within the radius
+    public static DiskMask circle(float radius)
+    {
+        float scaled = radius * CIRCLE_STEPS;
+        int index = (int)scaled;
+
+        if (index == scaled && index >= 0 && index < CIRCLES.length)
+        {
+            return CIRCLES[index];
+        }
+        return computeCircle(radius);
+    }
+
+    // A filled square extending radius blocks from the center
+    public static DiskMask square(int radius)
+    {
+        return radius >= 0 && radius <= MAX_CACHED_RADIUS ? SQUARES[radius] : computeSquare(radius);
+    }
+
+    // The outer edge of a square extending radius blocks from the center, without its corners
+    public static DiskMask ring(int radius)
+    {
+        return radius >= 0 && radius <= MAX_CACHED_RADIUS ? RINGS[radius] : computeRing(radius);
+    }
+
+    private static DiskMask computeCircle(float radius)
+    {
+        if (radius < 0.0F)
+        {
+            return EMPTY;
+        }
+
+        IntArrayList xs = new IntArrayList();
+        IntArrayList zs = new IntArrayList();
+        int bound = (int)Math.ceil(radius);
+        double radiusSq = (double)(radius * radius);
+
+        for (int dx = -bound; dx <= bound; dx++)
+        {
+            double xDist = Math.abs(dx) + 0.5D;
+
+            for (int dz = -bound; dz <= bound; dz++)
+            {
+                double zDist = Math.abs(dz) + 0.5D;
+
+                if (xDist * xDist + zDist * zDist <= radiusSq)
+                {
+                    xs.add(dx);
+                    zs.add(dz);
+                }
+            }
+        }
+        return new DiskMask(xs.toIntArray(), zs.toIntArray());
+    }
+
+    private static DiskMask computeSquare(int radius)
+    {
+        if (radius < 0)
+        {
+            return EMPTY;
+        }
+
+        IntArrayList xs = new IntArrayList();
+        IntArrayList zs = new IntArrayList();
+
+        for (int dx = -radius; dx <= radius; dx++)
+        {
+            for (int dz = -radius; dz <= radius; dz++)
+            {
+                xs.add(dx);
+                zs.add(dz);
+            }
+        }
+        return new DiskMask(xs.toIntArray(), zs.toIntArray());
+    }
+
+    private static DiskMask computeRing(int radius)
+    {
+        if (radius <= 0)
+        {
+            return EMPTY;
+        }
+
+        IntArrayList xs = new IntArrayList();
+        IntArrayList zs = new IntArrayList();
+
+        for (int dx = -radius; dx <= radius; dx++)
+        {
+            for (int dz = -radius; dz <= radius; dz++)
+            {
+                boolean xEdge = dx == -radius || dx == radius;
+                boolean zEdge = dz == -radius || dz == radius;
+
+                // Skip the corners and the interior
+                if (xEdge != zEdge)
+                {
+                    xs.add(dx);
+                    zs.add(dz);
+                }
+            }
+        }
+        return new DiskMask(xs.toIntArray(), zs.toIntArray());
+    }
+}
@@ -0,0 +1,495 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util.worldgen;
+
+import biomesoplenty.core.BiomesOPlenty;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.biome.BiomeManager;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.material.Fluids;
+import net.minecraft.world.ticks.BlackholeTickAccess;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Measures the cost of every BOP configured feature by placing it at a set of seeded origins around a position.
+ * Features are placed into a sandbox backed by copies of the loaded chunks. Block reads, heightmaps, biomes and direct
+ * section reads all see the sandbox's own copies and writes, the sandbox has its own random, block entities don't
+ * exist, and ticks and other side effects are dropped. Anything else a feature asks the level for is refused rather
+ * than passed on to the real world, so running a benchmark never modifies or even reads the live level off its thread.
+ * Origins whose chunks aren't loaded are skipped rather than generated. Benchmarks run off the server thread with a
+ * cap on the total number of placements. Results are intended for comparing builds against each other on the same world and seed
+ * rather than as absolute figures, as the sandbox adds some overhead of its own.
+ */
+public class FeatureBenchmark
+{
+    // Total placements across all features in one run, so that large iteration counts stay bounded
+    private static final int MAX_PLACEMENTS = 1000000;
+
+    private static final AtomicBoolean RUNNING = new AtomicBoolean();
+
+    // Methods are captured by calling them on a probe so that they resolve correctly under any runtime mappings
+    private static final Method GET_BLOCK_STATE = capture(level -> level.getBlockState(BlockPos.ZERO));
+    private static final Method GET_FLUID_STATE = capture(level -> level.getFluidState(BlockPos.ZERO));
+    private static final Method IS_STATE_AT_POSITION = capture(level -> level.isStateAtPosition(BlockPos.ZERO, state -> true));
+    private static final Method IS_FLUID_AT_POSITION = capture(level -> level.isFluidAtPosition(BlockPos.ZERO, state -> true));
+    private static final Method SET_BLOCK = capture(level -> level.setBlock(BlockPos.ZERO, null, 0));
+    private static final Method SET_BLOCK_RECURSIVE = capture(level -> level.setBlock(BlockPos.ZERO, null, 0, 0));
+    private static final Method REMOVE_BLOCK = capture(level -> level.removeBlock(BlockPos.ZERO, false));
+    private static final Method DESTROY_BLOCK = capture(level -> level.destroyBlock(BlockPos.ZERO, false, null, 0));
+    private static final Method ADD_FRESH_ENTITY = capture(level -> level.addFreshEntity(null));
+    private static final Method GET_BLOCK_ENTITY = capture(level -> level.getBlockEntity(BlockPos.ZERO));
+    private static final Method GET_BLOCK_TICKS = capture(level -> level.getBlockTicks());
+    private static final Method GET_FLUID_TICKS = capture(level -> level.getFluidTicks());
+    private static final Method GET_HEIGHT = capture(level -> level.getHeight(Heightmap.Types.WORLD_SURFACE, 0, 0));
+    private static final Method GET_CHUNK = capture(level -> level.getChunk(0, 0));
+    private static final Method GET_CHUNK_AT = capture(level -> level.getChunk(BlockPos.ZERO));
+    private static final Method GET_CHUNK_STATUS = capture(level -> level.getChunk(0, 0, ChunkStatus.FULL));
+    private static final Method GET_CHUNK_REQUIRED = capture(level -> level.getChunk(0, 0, ChunkStatus.FULL, false));
+    private static final Method GET_RANDOM = capture(level -> level.getRandom());
+    private static final Method GET_BIOME_MANAGER = capture(level -> level.getBiomeManager());
+
+    // Immutable properties of the level which are safe to read from any thread
+    private static final List<Method> LEVEL_PROPERTIES = List.of(
+        capture(level -> level.getMinY()),
+        capture(level -> level.getHeight()),
+        capture(level -> level.getSeaLevel()),
+        capture(level -> level.getSeed()),
+        capture(level -> level.registryAccess()),
+        capture(level -> level.enabledFeatures()),
+        capture(level -> level.dimensionType())
+    );
+
+    /**
+     * Starts a benchmark, returning null if one is already running. The loaded chunks around the center are copied
+     * and the origins picked on the calling thread, which must be the server thread, and the features are then placed
+     * on a background thread.
+     */
+    public static CompletableFuture<List<Result>> start(ServerLevel level, BlockPos center, int radius, int iterations, long seed)
+    {
+        if (!RUNNING.compareAndSet(false, true))
+        {
+            return null;
+        }
+
+        try
+        {
+            ChunkGenerator generator = level.getChunkSource().getGenerator();
+
+            // Copy the loaded chunks up front so that copying isn't included in the timings. Nothing is ever loaded or
+            // generated for the benchmark, as that would stall the server while it runs
+            Sandbox sandbox = new Sandbox(level, seed);
+            int minChunkX = SectionPos.blockToSectionCoord(center.getX() - radius) - 1;
+            int minChunkZ = SectionPos.blockToSectionCoord(center.getZ() - radius) - 1;
+            int maxChunkX = SectionPos.blockToSectionCoord(center.getX() + radius) + 1;
+            int maxChunkZ = SectionPos.blockToSectionCoord(center.getZ() + radius) + 1;
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+            {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+                {
+                    sandbox.copyLoadedChunk(chunkX, chunkZ);
+                }
+            }
+
+            RandomSource originRandom = RandomSource.create(seed);
+            List<BlockPos> origins = new ArrayList<>();
+
+            for (int i = 0; i < iterations; i++)
+            {
+                int x = center.getX() + originRandom.nextInt(radius * 2 + 1) - radius;
+                int z = center.getZ() + originRandom.nextInt(radius * 2 + 1) - radius;
+
+                // Features may reach into the neighbouring chunks, so those must be loaded too
+                if (sandbox.hasChunksAround(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z)))
+                {
+                    origins.add(new BlockPos(x, sandbox.getHeight(Heightmap.Types.WORLD_SURFACE, x, z), z));
+                }
+            }
+
+            if (origins.isEmpty())
+            {
+                RUNNING.set(false);
+                return CompletableFuture.failedFuture(new IllegalStateException("No loaded chunks around " + center.toShortString() + " to benchmark in"));
+            }
+
+            List<Holder.Reference<ConfiguredFeature<?, ?>>> features = level.registryAccess().lookupOrThrow(Registries.CONFIGURED_FEATURE).listElements().filter(holder -> holder.key().location().getNamespace().equals(BiomesOPlenty.MOD_ID)).toList();
+            int perFeature = Math.max(1, Math.min(iterations, MAX_PLACEMENTS / Math.max(1, features.size())));
+
+            BlockPos[] originArray = origins.toArray(BlockPos[]::new);
+
+            return CompletableFuture.supplyAsync(() -> run(sandbox, generator, features, originArray, perFeature, seed), Util.backgroundExecutor())
+                .whenComplete((results, throwable) -> RUNNING.set(false));
+        }
+        catch (RuntimeException e)
+        {
+            RUNNING.set(false);
+            throw e;
+        }
+    }
+
+    private static List<Result> run(Sandbox sandbox, ChunkGenerator generator, List<Holder.Reference<ConfiguredFeature<?, ?>>> features, BlockPos[] origins, int iterations, long seed)
+    {
+        WorldGenLevel sandboxLevel = sandbox.createLevel();
+        BlockPos[] used = iterations < origins.length ? Arrays.copyOf(origins, iterations) : origins;
+        List<Result> results = new ArrayList<>();
+
+        for (Holder.Reference<ConfiguredFeature<?, ?>> holder : features)
+        {
+            Result result = benchmark(holder, sandbox, sandboxLevel, generator, used, seed);
+
+            if (result != null)
+            {
+                results.add(result);
+            }
+        }
+
+        results.sort(Comparator.comparingDouble(Result::nanosPerOp).reversed());
+        return results;
+    }
+
+    private static Result benchmark(Holder.Reference<ConfiguredFeature<?, ?>> holder, Sandbox sandbox, WorldGenLevel sandboxLevel, ChunkGenerator generator, BlockPos[] origins, long seed)
+    {
+        ConfiguredFeature<?, ?> feature = holder.value();
+        RandomSource random = RandomSource.create();
+        long nanos = 0L;
+        long blocks = 0L;
+        int successes = 0;
+
+        try
+        {
+            // Warm up so that the first features measured aren't penalised by class loading and the JIT
+            for (int i = 0; i < Math.max(1, origins.length / 10); i++)
+            {
+                sandbox.reset(seed + i);
+                random.setSeed(seed + i);
+                feature.place(sandboxLevel, generator, random, origins[i]);
+            }
+
+            long allocatedBefore = allocatedBytes();
+
+            for (int i = 0; i < origins.length; i++)
+            {
+                sandbox.reset(seed + i);
+                random.setSeed(seed + i);
+
+                long start = System.nanoTime();
+                boolean placed = feature.place(sandboxLevel, generator, random, origins[i]);
+                nanos += System.nanoTime() - start;
+
+                if (placed) successes++;
+                blocks += sandbox.blocksSet;
+            }
+
+            double bytesPerOp = allocatedBefore < 0L ? -1.0D : (double)(allocatedBytes() - allocatedBefore) / origins.length;
+            return new Result(holder.key().location().toString(), (double)nanos / origins.length, (double)blocks / origins.length, bytesPerOp, successes, origins.length);
+        }
+        catch (RuntimeException e)
+        {
+            // Some features expect a real generation region, or reach outside the copied chunks, and can't run against the sandbox
+            BiomesOPlenty.LOGGER.warn("Unable to benchmark feature " + holder.key().location() + ": " + e);
+            return null;
+        }
+    }
+
+    private static long allocatedBytes()
+    {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean && threadBean.isThreadAllocatedMemorySupported())
+        {
+            return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1L;
+    }
+
+    private static Method capture(Consumer<WorldGenLevel> call)
+    {
+        Method[] captured = new Method[1];
+        WorldGenLevel probe = createProxy((proxy, method, args) -> {
+            if (captured[0] == null) captured[0] = method;
+            return defaultValue(method.getReturnType());
+        });
+        call.accept(probe);
+        return captured[0];
+    }
+
+    private static WorldGenLevel createProxy(InvocationHandler handler)
+    {
+        return (WorldGenLevel)Proxy.newProxyInstance(WorldGenLevel.class.getClassLoader(), new Class<?>[] { WorldGenLevel.class }, handler);
+    }
+
+    private static Object defaultValue(Class<?> type)
+    {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0.0F;
+        if (type == double.class) return 0.0D;
+        return null;
+    }
+
+    public record Result(String feature, double nanosPerOp, double blocksPerOp, double bytesPerOp, int successes, int attempts) {}
+
+    private static class Sandbox implements InvocationHandler
+    {
+        private final ServerLevel level;
+        private final RandomSource random;
+        private final Long2ObjectOpenHashMap<LevelChunk> chunks = new Long2ObjectOpenHashMap<>();
+        // The state before the first write to each position, so that the copies can be restored between placements
+        private final Long2ObjectOpenHashMap<BlockState> original = new Long2ObjectOpenHashMap<>();
+        private long blocksSet;
+        private BiomeManager biomeManager;
+
+        private Sandbox(ServerLevel level, long seed)
+        {
+            this.level = level;
+            this.random = RandomSource.create(seed);
+        }
+
+        private WorldGenLevel createLevel()
+        {
+            WorldGenLevel proxy = createProxy(this);
+            // Biome lookups read the biomes stored in the copied chunks
+            this.biomeManager = this.level.getBiomeManager().withDifferentSource(proxy);
+            return proxy;
+        }
+
+        private void reset(long seed)
+        {
+            this.random.setSeed(seed);
+
+            for (Long2ObjectMap.Entry<BlockState> entry : this.original.long2ObjectEntrySet())
+            {
+                this.write(BlockPos.of(entry.getLongKey()), entry.getValue());
+            }
+
+            this.original.clear();
+            this.blocksSet = 0L;
+        }
+
+        private LevelChunk chunk(int chunkX, int chunkZ)
+        {
+            LevelChunk chunk = this.chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+
+            if (chunk == null)
+            {
+                throw new IllegalStateException("Chunk " + chunkX + ", " + chunkZ + " is outside the benchmark sandbox");
+            }
+
+            return chunk;
+        }
+
+        private boolean hasChunksAround(int chunkX, int chunkZ)
+        {
+            for (int x = chunkX - 1; x <= chunkX + 1; x++)
+            {
+                for (int z = chunkZ - 1; z <= chunkZ + 1; z++)
+                {
+                    if (!this.chunks.containsKey(ChunkPos.asLong(x, z))) return false;
+                }
+            }
+
+            return true;
+        }
+
+        // Copies a chunk if it is already loaded. Must be called on the server thread
+        private void copyLoadedChunk(int chunkX, int chunkZ)
+        {
+            LevelChunk real = this.level.getChunkSource().getChunkNow(chunkX, chunkZ);
+
+            if (real == null)
+            {
+                return;
+            }
+
+            LevelChunk copy = new LevelChunk(this.level, real.getPos());
+            LevelChunkSection[] sections = real.getSections();
+
+            for (int i = 0; i < sections.length; i++)
+            {
+                copy.getSections()[i] = new LevelChunkSection(sections[i].getStates().copy(), sections[i].getBiomes());
+            }
+
+            for (Heightmap.Types type : Heightmap.Types.values())
+            {
+                if (real.hasPrimedHeightmap(type))
+                {
+                    copy.setHeightmap(type, real.getHeightmap(type).getRawData().clone());
+                }
+            }
+
+            this.chunks.put(ChunkPos.asLong(chunkX, chunkZ), copy);
+        }
+
+        private int getHeight(Heightmap.Types type, int x, int z)
+        {
+            return this.chunk(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z)).getHeight(type, x & 15, z & 15) + 1;
+        }
+
+        private LevelChunk chunk(BlockPos pos)
+        {
+            return this.chunk(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
+        }
+
+        private BlockState getBlockState(BlockPos pos)
+        {
+            return this.level.isOutsideBuildHeight(pos) ? Blocks.VOID_AIR.defaultBlockState() : this.chunk(pos).getBlockState(pos);
+        }
+
+        private boolean setBlockState(BlockPos pos, BlockState state)
+        {
+            if (this.level.isOutsideBuildHeight(pos))
+            {
+                return false;
+            }
+
+            BlockState previous = this.write(pos, state);
+
+            if (!this.original.containsKey(pos.asLong()))
+            {
+                this.original.put(pos.asLong(), previous);
+            }
+
+            this.blocksSet++;
+            return true;
+        }
+
+        // Writes straight into the copied section, keeping the copy's heightmaps up to date
+        private BlockState write(BlockPos pos, BlockState state)
+        {
+            LevelChunk chunk = this.chunk(pos);
+            int x = pos.getX() & 15;
+            int y = pos.getY();
+            int z = pos.getZ() & 15;
+            BlockState previous = chunk.getSection(chunk.getSectionIndex(y)).setBlockState(x, y & 15, z, state, false);
+
+            for (Heightmap.Types type : Heightmap.Types.values())
+            {
+                if (chunk.hasPrimedHeightmap(type))
+                {
+                    chunk.getOrCreateHeightmapUnprimed(type).update(x, y, z, state);
+                }
+            }
+
+            return previous;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            if (method.equals(GET_BLOCK_STATE))
+            {
+                return this.getBlockState((BlockPos)args[0]);
+            }
+            else if (method.equals(GET_FLUID_STATE))
+            {
+                BlockPos pos = (BlockPos)args[0];
+                return this.level.isOutsideBuildHeight(pos) ? Fluids.EMPTY.defaultFluidState() : this.chunk(pos).getFluidState(pos);
+            }
+            else if (method.equals(IS_STATE_AT_POSITION))
+            {
+                return ((Predicate<BlockState>)args[1]).test(this.getBlockState((BlockPos)args[0]));
+            }
+            else if (method.equals(IS_FLUID_AT_POSITION))
+            {
+                return ((Predicate<FluidState>)args[1]).test(this.getBlockState((BlockPos)args[0]).getFluidState());
+            }
+            else if (method.equals(SET_BLOCK) || method.equals(SET_BLOCK_RECURSIVE))
+            {
+                return this.setBlockState((BlockPos)args[0], (BlockState)args[1]);
+            }
+            else if (method.equals(REMOVE_BLOCK) || method.equals(DESTROY_BLOCK))
+            {
+                BlockPos pos = (BlockPos)args[0];
+                return this.setBlockState(pos, this.getBlockState(pos).getFluidState().createLegacyBlock());
+            }
+            else if (method.equals(ADD_FRESH_ENTITY))
+            {
+                return true;
+            }
+            else if (method.equals(GET_BLOCK_ENTITY))
+            {
+                // The copies have no block entities, and the real ones must not be touched
+                return null;
+            }
+            else if (method.equals(GET_BLOCK_TICKS) || method.equals(GET_FLUID_TICKS))
+            {
+                return BlackholeTickAccess.emptyLevelList();
+            }
+            else if (method.equals(GET_HEIGHT))
+            {
+                return this.getHeight((Heightmap.Types)args[0], (int)args[1], (int)args[2]);
+            }
+            else if (method.equals(GET_CHUNK_REQUIRED) && !(boolean)args[3])
+            {
+                return this.chunks.get(ChunkPos.asLong((int)args[0], (int)args[1]));
+            }
+            else if (method.equals(GET_CHUNK) || method.equals(GET_CHUNK_STATUS) || method.equals(GET_CHUNK_REQUIRED))
+            {
+                // Section readers must see the copies so that they observe the sandbox's writes
+                return this.chunk((int)args[0], (int)args[1]);
+            }
+            else if (method.equals(GET_RANDOM))
+            {
+                // The level's own random may only be used on the server thread
+                return this.random;
+            }
+            else if (method.equals(GET_BIOME_MANAGER))
+            {
+                return this.biomeManager;
+            }
+            else if (LEVEL_PROPERTIES.contains(method))
+            {
+                return method.invoke(this.level, args);
+            }
+            else if (method.equals(GET_CHUNK_AT))
+            {
+                return this.chunk((BlockPos)args[0]);
+            }
+            else if (method.isDefault())
+            {
+                // Run default methods against the sandbox so that they see any blocks written so far
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            else if (method.getReturnType() == void.class)
+            {
+                // Sounds, particles, level events and neighbour updates would all reach the real world
+                return null;
+            }
+
+            // Anything else would read or hand out the live level from the benchmark thread
+            throw new UnsupportedOperationException(method.getName() + " isn't available in the benchmark sandbox");
+        }
+    }
+}
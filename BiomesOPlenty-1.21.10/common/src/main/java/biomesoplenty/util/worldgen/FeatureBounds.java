@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util.worldgen;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.chunk.ChunkAccess;
+
+/**
+ * Bounds checks for features which are driven by the height of the world being generated rather than assuming the
+ * vanilla overworld's limits, so that features behave the same in taller or deeper worlds.
+ */
+public class FeatureBounds
+{
+    // Whether every y level from minY to maxY (inclusive) lies within the world
+    public static boolean fitsHeight(LevelHeightAccessor level, int minY, int maxY)
+    {
+        return minY >= level.getMinY() && maxY <= level.getMaxY();
+    }
+
+    // Whether a horizontal layer within the given bounds (inclusive) holds nothing but air. Layers outside of the world are always empty.
+    public static boolean isEmptyLayer(WorldGenLevel level, int minX, int minZ, int maxX, int maxZ, int y)
+    {
+        if (level.isOutsideBuildHeight(y))
+        {
+            return true;
+        }
+
+        for (int chunkX = SectionPos.blockToSectionCoord(minX); chunkX <= SectionPos.blockToSectionCoord(maxX); chunkX++)
+        {
+            for (int chunkZ = SectionPos.blockToSectionCoord(minZ); chunkZ <= SectionPos.blockToSectionCoord(maxZ); chunkZ++)
+            {
+                ChunkAccess chunk = level.getChunk(chunkX, chunkZ);
+
+                if (!chunk.getSection(chunk.getSectionIndex(y)).hasOnlyAir())
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
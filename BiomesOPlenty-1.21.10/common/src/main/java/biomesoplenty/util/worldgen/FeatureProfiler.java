@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util.worldgen;
+
+import biomesoplenty.core.BiomesOPlenty;
+import biomesoplenty.init.ModConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.levelgen.feature.Feature;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the time spent in, and blocks written by, every BOP feature placed during world generation. Totals are
+ * kept per feature and per feature and biome. Profiling is enabled from the generation config and is read once, so
+ * the hooks cost nothing beyond a constant check when it is turned off.
+ */
+public class FeatureProfiler
+{
+    private static final boolean ENABLED = ModConfig.generation.profileFeatures;
+
+    private static final Map<String, Stats> FEATURE_STATS = new ConcurrentHashMap<>();
+    private static final Map<String, Stats> BIOME_STATS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ArrayDeque<Frame>> FRAMES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public static boolean isEnabled()
+    {
+        return ENABLED;
+    }
+
+    /**
+     * Starts timing a feature, returning whether it is tracked. Tracked features must be followed by a call to
+     * {@link #end} or, if placement threw, {@link #discard}.
+     */
+    public static boolean begin(Feature<?> feature, WorldGenLevel level, BlockPos origin)
+    {
+        ResourceLocation key = BuiltInRegistries.FEATURE.getKey(feature);
+
+        // Only BOP features are tracked. Blocks written by vanilla features they place are counted towards them.
+        if (key == null || !key.getNamespace().equals(BiomesOPlenty.MOD_ID))
+        {
+            return false;
+        }
+
+        String biome = level.getBiome(origin).unwrapKey().map(biomeKey -> biomeKey.location().toString()).orElse("unknown");
+        FRAMES.get().push(new Frame(key.toString(), biome, System.nanoTime()));
+        return true;
+    }
+
+    public static void end(boolean placed)
+    {
+        Frame frame = FRAMES.get().pop();
+        long nanos = System.nanoTime() - frame.start;
+        FEATURE_STATS.computeIfAbsent(frame.key, k -> new Stats()).add(nanos, frame.blocks, placed);
+        BIOME_STATS.computeIfAbsent(frame.key + " @ " + frame.biome, k -> new Stats()).add(nanos, frame.blocks, placed);
+    }
+
+    // Drops the frame of a feature whose placement threw, so that it doesn't skew the features around it
+    public static void discard()
+    {
+        FRAMES.get().pop();
+    }
+
+    public static void onBlockSet()
+    {
+        Frame frame = FRAMES.get().peek();
+
+        if (frame != null)
+        {
+            frame.blocks++;
+        }
+    }
+
+    public static void reset()
+    {
+        FEATURE_STATS.clear();
+        BIOME_STATS.clear();
+    }
+
+    public static List<String> createReport()
+    {
+        List<String> lines = new ArrayList<>();
+        lines.add("Feature totals:");
+        addLines(lines, FEATURE_STATS);
+        lines.add("Feature totals by biome:");
+        addLines(lines, BIOME_STATS);
+        return lines;
+    }
+
+    public static void logReport()
+    {
+        if (FEATURE_STATS.isEmpty())
+        {
+            return;
+        }
+
+        for (String line : createReport())
+        {
+            BiomesOPlenty.LOGGER.info(line);
+        }
+    }
+
+    private static void addLines(List<String> lines, Map<String, Stats> stats)
+    {
+        // Sorted by total time so that the most expensive entries come first
+        stats.entrySet().stream().sorted(Comparator.comparingLong((Map.Entry<String, Stats> entry) -> entry.getValue().nanos.sum()).reversed()).forEach(entry -> {
+            Stats value = entry.getValue();
+            long calls = value.calls.sum();
+            long successes = value.successes.sum();
+            long nanos = value.nanos.sum();
+            long blocks = value.blocks.sum();
+            lines.add(String.format("  %-72s %10.2f ms total %10.0f ns/call %8d calls %8d placed %10d blocks", entry.getKey(), nanos / 1.0E6D, (double)nanos / calls, calls, successes, blocks));
+        });
+    }
+
+    private static class Frame
+    {
+        private final String key;
+        private final String biome;
+        private final long start;
+        private long blocks;
+
+        private Frame(String key, String biome, long start)
+        {
+            this.key = key;
+            this.biome = biome;
+            this.start = start;
+        }
+    }
+
+    private static class Stats
+    {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder blocks = new LongAdder();
+
+        private void add(long nanos, long blocks, boolean placed)
+        {
+            this.calls.increment();
+            if (placed) this.successes.increment();
+            this.nanos.add(nanos);
+            this.blocks.add(blocks);
+        }
+    }
+}
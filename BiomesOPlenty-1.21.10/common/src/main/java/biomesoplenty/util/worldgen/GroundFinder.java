@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util.worldgen;
+
+import biomesoplenty.util.SimpleBlockPredicate;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+import java.util.function.Predicate;
+
+/**
+ * Finds the ground beneath a feature's origin by walking a single column directly on the chunk sections. Columns of
+ * air are skipped using the surface heightmap where one is available, and empty sections are skipped whole.
+ */
+public class GroundFinder
+{
+    /**
+     * Moves down from the start position whilst the predicate matches, stopping at the first position which doesn't
+     * or at the bottom of the world. Equivalent to:
+     * <pre>while (pos.getY() >= world.getMinY()+1 && skip.matches(world, pos)) {pos = pos.below();}</pre>
+     */
+    public static BlockPos moveDownWhile(WorldGenLevel world, BlockPos start, SimpleBlockPredicate skip)
+    {
+        Predicate<BlockState> statePredicate = skip.statePredicate();
+
+        if (statePredicate != null)
+        {
+            return moveDown(world, start, statePredicate);
+        }
+
+        BlockPos pos = start;
+        while (pos.getY() >= world.getMinY()+1 && skip.matches(world, pos)) {pos = pos.below();}
+        return pos;
+    }
+
+    // Moves down from the start position until the predicate matches or the bottom of the world is reached
+    public static BlockPos moveDownUntil(WorldGenLevel world, BlockPos start, SimpleBlockPredicate ground)
+    {
+        Predicate<BlockState> statePredicate = ground.statePredicate();
+
+        if (statePredicate != null)
+        {
+            return moveDown(world, start, statePredicate.negate());
+        }
+
+        BlockPos pos = start;
+        while (pos.getY() >= world.getMinY()+1 && !ground.matches(world, pos)) {pos = pos.below();}
+        return pos;
+    }
+
+    private static BlockPos moveDown(WorldGenLevel world, BlockPos start, Predicate<BlockState> skip)
+    {
+        int minY = world.getMinY();
+        int x = start.getX();
+        int y = start.getY();
+        int z = start.getZ();
+
+        if (y <= minY)
+        {
+            return start;
+        }
+
+        ChunkAccess chunk = world.getChunk(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+
+        // Runs of air may only be skipped if the predicate would have passed over them anyway
+        boolean skipsAir = skip.test(Blocks.AIR.defaultBlockState()) && skip.test(Blocks.CAVE_AIR.defaultBlockState()) && skip.test(Blocks.VOID_AIR.defaultBlockState());
+
+        if (skipsAir)
+        {
+            // Chunks stop updating their worldgen heightmaps once they reach the features status, so neighbours which
+            // have already been decorated must use the final heightmap to see blocks placed by their features
+            Heightmap.Types surface = chunk.getPersistedStatus().isBefore(ChunkStatus.FEATURES) ? Heightmap.Types.WORLD_SURFACE_WG : Heightmap.Types.WORLD_SURFACE;
+
+            // The heightmap is kept up to date as blocks are placed, so everything above it is air
+            if (chunk.hasPrimedHeightmap(surface))
+            {
+                y = Math.max(minY, Math.min(y, chunk.getHeight(surface, x & 15, z & 15)));
+            }
+        }
+
+        while (y > minY)
+        {
+            int sectionIndex = chunk.getSectionIndex(y);
+
+            // Positions above the build height read as void air
+            if (sectionIndex >= chunk.getSectionsCount())
+            {
+                if (!skip.test(Blocks.VOID_AIR.defaultBlockState())) break;
+                y = chunk.getMaxY();
+                continue;
+            }
+
+            LevelChunkSection section = chunk.getSection(sectionIndex);
+            int sectionMinY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(sectionIndex));
+
+            if (skipsAir && section.hasOnlyAir())
+            {
+                y = Math.max(minY, sectionMinY - 1);
+                continue;
+            }
+
+            for (; y >= sectionMinY && y > minY; y--)
+            {
+                if (!skip.test(section.getBlockState(x & 15, y & 15, z & 15)))
+                {
+                    return new BlockPos(x, y, z);
+                }
+            }
+        }
+
+        return new BlockPos(x, y, z);
+    }
+}
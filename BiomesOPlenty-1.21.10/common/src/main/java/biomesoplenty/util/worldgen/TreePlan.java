@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.util.worldgen;
+
+import java.util.Arrays;
+
+/**
+ * The shape of a tree worked out ahead of placement. Entries are block offsets from the tree's origin tagged with
+ * the role of the block to place there, kept in the order they should be placed. Clearance boxes describe the space
+ * which must be replaceable before anything is placed, and are checked as a whole rather than entry by entry.
+ */
+public class TreePlan
+{
+    public static final byte LOG = 0;
+    public static final byte LEAVES = 1;
+    public static final byte ALT_LEAVES = 2;
+    public static final byte LOG_X = 3;
+    public static final byte LOG_Z = 4;
+    // A log which counts towards the current trunk column
+    public static final byte TRUNK = 5;
+    // Starts a new trunk column. The entry's offset is unused.
+    public static final byte COLUMN = 6;
+    // Dirt below the trunk, only placed if the current column placed a trunk log and the block isn't solid
+    public static final byte ROOT_DIRT = 7;
+
+    private int[] xOffsets = new int[64];
+    private int[] yOffsets = new int[64];
+    private int[] zOffsets = new int[64];
+    private byte[] roles = new byte[64];
+    private int size;
+
+    // Each clearance box is stored as minX, minY, minZ, maxX, maxY, maxZ
+    private int[] clearance = new int[12];
+    private int clearanceCount;
+
+    public void add(int x, int y, int z, byte role)
+    {
+        if (this.size == this.roles.length)
+        {
+            int capacity = this.size * 2;
+            this.xOffsets = Arrays.copyOf(this.xOffsets, capacity);
+            this.yOffsets = Arrays.copyOf(this.yOffsets, capacity);
+            this.zOffsets = Arrays.copyOf(this.zOffsets, capacity);
+            this.roles = Arrays.copyOf(this.roles, capacity);
+        }
+
+        this.xOffsets[this.size] = x;
+        this.yOffsets[this.size] = y;
+        this.zOffsets[this.size] = z;
+        this.roles[this.size] = role;
+        this.size++;
+    }
+
+    // Requires every position within the given bounds (inclusive) to be replaceable
+    public void requireClear(int minX, int minY, int minZ, int maxX, int maxY, int maxZ)
+    {
+        int index = this.clearanceCount * 6;
+
+        if (index == this.clearance.length)
+        {
+            this.clearance = Arrays.copyOf(this.clearance, index * 2);
+        }
+
+        this.clearance[index] = minX;
+        this.clearance[index + 1] = minY;
+        this.clearance[index + 2] = minZ;
+        this.clearance[index + 3] = maxX;
+        this.clearance[index + 4] = maxY;
+        this.clearance[index + 5] = maxZ;
+        this.clearanceCount++;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public int getX(int index)
+    {
+        return this.xOffsets[index];
+    }
+
+    public int getY(int index)
+    {
+        return this.yOffsets[index];
+    }
+
+    public int getZ(int index)
+    {
+        return this.zOffsets[index];
+    }
+
+    public byte getRole(int index)
+    {
+        return this.roles[index];
+    }
+
+    public int clearanceCount()
+    {
+        return this.clearanceCount;
+    }
+
+    // Returns the given bound of a clearance box, in the order minX, minY, minZ, maxX, maxY, maxZ
+    public int getClearance(int box, int bound)
+    {
+        return this.clearance[box * 6 + bound];
+    }
+}
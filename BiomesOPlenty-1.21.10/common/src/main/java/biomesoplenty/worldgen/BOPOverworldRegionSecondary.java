@@ -6,6 +6,7 @@ package biomesoplenty.worldgen;
 
 import biomesoplenty.biome.BOPSecondaryOverworldBiomeBuilder;
 import biomesoplenty.core.BiomesOPlenty;
+import biomesoplenty.util.biome.ClimatePointMerger;
 import com.mojang.datafixers.util.Pair;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceKey;
@@ -29,6 +30,6 @@ public class BOPOverworldRegionSecondary extends Region
     @Override
     public void addBiomes(Registry<Biome> registry, Consumer<Pair<Climate.ParameterPoint, ResourceKey<Biome>>> mapper)
     {
-        (new BOPSecondaryOverworldBiomeBuilder()).addBiomes(registry, mapper);
+        ClimatePointMerger.addMerged(LOCATION, points -> (new BOPSecondaryOverworldBiomeBuilder()).addBiomes(registry, points), mapper);
     }
 }
@@ -6,7 +6,10 @@ package biomesoplenty.worldgen;
 
 import biomesoplenty.api.biome.BOPBiomes;
 import biomesoplenty.api.block.BOPBlocks;
+import biomesoplenty.core.BiomesOPlenty;
 import com.google.common.collect.ImmutableList;
+import com.mojang.serialization.MapCodec;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.levelgen.Noises;
@@ -14,6 +17,8 @@ import net.minecraft.world.level.levelgen.SurfaceRules;
 import net.minecraft.world.level.levelgen.VerticalAnchor;
 import net.minecraft.world.level.levelgen.placement.CaveSurface;
 
+import java.util.function.BiConsumer;
+
 public class BOPSurfaceRuleData
 {
     private static final SurfaceRules.RuleSource AIR = makeStateRule(Blocks.AIR);
@@ -57,6 +62,11 @@ public class BOPSurfaceRuleData
     private static final SurfaceRules.RuleSource FLESH = makeStateRule(BOPBlocks.FLESH);
     private static final SurfaceRules.RuleSource BRIMSTONE = makeStateRule(BOPBlocks.BRIMSTONE);
 
+    public static void registerRuleSources(BiConsumer<ResourceLocation, MapCodec<? extends SurfaceRules.RuleSource>> func)
+    {
+        func.accept(ResourceLocation.fromNamespaceAndPath(BiomesOPlenty.MOD_ID, "biome_dispatch"), BiomeDispatchRuleSource.CODEC);
+    }
+
     private static SurfaceRules.RuleSource makeStateRule(Block p_194811_) {
         return SurfaceRules.state(p_194811_.defaultBlockState());
     }
@@ -64,7 +74,7 @@ public class BOPSurfaceRuleData
     public static SurfaceRules.RuleSource overworld()
     {
         SurfaceRules.RuleSource surfaceRules = SurfaceRules.sequence(
-            makeBOPOverworldRules());
+            BiomeDispatchRuleSource.compile(makeBOPOverworldRules()));
 
         ImmutableList.Builder<SurfaceRules.RuleSource> builder = ImmutableList.builder();
 
@@ -88,7 +98,7 @@ public class BOPSurfaceRuleData
             ),
             SurfaceRules.ifTrue(SurfaceRules.not(SurfaceRules.verticalGradient("bedrock_roof", VerticalAnchor.belowTop(5), VerticalAnchor.top())), BEDROCK),
             SurfaceRules.ifTrue(isTop5Blocks, NETHERRACK),
-            makeBOPNetherRules(),
+            BiomeDispatchRuleSource.compile(makeBOPNetherRules()),
             SurfaceRules.ifTrue(
                 SurfaceRules.ON_FLOOR,
                 SurfaceRules.sequence(
@@ -331,7 +341,7 @@ public class BOPSurfaceRuleData
     {
         SurfaceRules.RuleSource whiteSandstoneLining = SurfaceRules.sequence(SurfaceRules.ifTrue(SurfaceRules.ON_CEILING, WHITE_SANDSTONE), WHITE_SAND);
 
-        return SurfaceRules.sequence(
+        return BiomeDispatchRuleSource.compile(SurfaceRules.sequence(
             SurfaceRules.ifTrue(
                 SurfaceRules.isBiome(BOPBiomes.END_WILDS),
                 SurfaceRules.sequence(
@@ -353,7 +363,7 @@ public class BOPSurfaceRuleData
                     )
                 )
             )
-        );
+        ));
     }
 
 
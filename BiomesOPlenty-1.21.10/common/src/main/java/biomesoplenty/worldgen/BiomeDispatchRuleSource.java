@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright 2024, the Glitchfiend Team.
+ * All rights reserved.
+ ******************************************************************************/
+package biomesoplenty.worldgen;
+
+import biomesoplenty.core.BiomesOPlenty;
+import biomesoplenty.init.ModConfig;
+import com.google.common.collect.ImmutableMap;
+import com.mojang.serialization.MapCodec;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.KeyDispatchDataCodec;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.SurfaceRules;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * A surface rule compiled into one pre-filtered rule per biome. Every biome named by a biome condition in the source
+ * rule gets a copy of the rule with its biome conditions resolved ahead of time, leaving out the branches which can
+ * never apply to it. Each block then looks its biome up once and only runs the rules for that biome, rather than
+ * walking every biome check in turn. Rules which aren't sequences, tests or biome checks are kept as they are, so the
+ * compiled rule always produces the same blocks as the source rule. The source rule is what gets serialized.
+ * <p>
+ * With debug.verify_surface_rules enabled, the source rule is also run for every block and any differences are logged.
+ */
+public class BiomeDispatchRuleSource implements SurfaceRules.RuleSource
+{
+    public static final MapCodec<BiomeDispatchRuleSource> CODEC = SurfaceRules.RuleSource.CODEC.xmap(BiomeDispatchRuleSource::compile, BiomeDispatchRuleSource::source).fieldOf("source");
+
+    private static final boolean VERIFY = ModConfig.generation.verifySurfaceRules;
+    private static final int LOGGED_MISMATCHES = 20;
+    private static final int MISMATCH_SUMMARY_INTERVAL = 10000;
+    private static final AtomicInteger MISMATCHES = new AtomicInteger();
+
+    private final SurfaceRules.RuleSource source;
+    private final Map<ResourceKey<Biome>, SurfaceRules.RuleSource> rules;
+    @Nullable
+    private final SurfaceRules.RuleSource fallback;
+
+    private BiomeDispatchRuleSource(SurfaceRules.RuleSource source, Map<ResourceKey<Biome>, SurfaceRules.RuleSource> rules, @Nullable SurfaceRules.RuleSource fallback)
+    {
+        this.source = source;
+        this.rules = rules;
+        this.fallback = fallback;
+    }
+
+    public static BiomeDispatchRuleSource compile(SurfaceRules.RuleSource source)
+    {
+        Set<ResourceKey<Biome>> biomes = new LinkedHashSet<>();
+        collectBiomes(source, biomes);
+
+        ImmutableMap.Builder<ResourceKey<Biome>, SurfaceRules.RuleSource> rules = ImmutableMap.builder();
+
+        for (ResourceKey<Biome> biome : biomes)
+        {
+            SurfaceRules.RuleSource rule = specialize(source, biome);
+
+            if (rule != null)
+            {
+                rules.put(biome, rule);
+            }
+        }
+
+        // Biomes which aren't named anywhere fail every biome check
+        return new BiomeDispatchRuleSource(source, rules.build(), specialize(source, null));
+    }
+
+    public SurfaceRules.RuleSource source()
+    {
+        return this.source;
+    }
+
+    /**
+     * Returns a copy with every per-biome rule and the fallback passed through the given function, for tools which
+     * need to rewrite the rules that actually run, such as profilers. The source rule is kept as it is.
+     */
+    public BiomeDispatchRuleSource map(UnaryOperator<SurfaceRules.RuleSource> mapper)
+    {
+        ImmutableMap.Builder<ResourceKey<Biome>, SurfaceRules.RuleSource> rules = ImmutableMap.builder();
+        this.rules.forEach((biome, rule) -> rules.put(biome, mapper.apply(rule)));
+        return new BiomeDispatchRuleSource(this.source, rules.build(), this.fallback == null ? null : mapper.apply(this.fallback));
+    }
+
+    @Override
+    public KeyDispatchDataCodec<? extends SurfaceRules.RuleSource> codec()
+    {
+        return KeyDispatchDataCodec.of(CODEC);
+    }
+
+    @Override
+    public SurfaceRules.SurfaceRule apply(SurfaceRules.Context context)
+    {
+        return new DispatchRule(this, context);
+    }
+
+    private static void collectBiomes(SurfaceRules.RuleSource rule, Set<ResourceKey<Biome>> biomes)
+    {
+        if (rule instanceof SurfaceRules.SequenceRuleSource sequence)
+        {
+            sequence.sequence().forEach(child -> collectBiomes(child, biomes));
+        }
+        else if (rule instanceof SurfaceRules.TestRuleSource test)
+        {
+            if (test.ifTrue() instanceof SurfaceRules.BiomeConditionSource condition)
+            {
+                biomes.addAll(condition.biomes);
+            }
+
+            collectBiomes(test.thenRun(), biomes);
+        }
+    }
+
+    // Returns a copy of the rule with biome checks resolved for the given biome, or null if it can never apply
+    @Nullable
+    private static SurfaceRules.RuleSource specialize(SurfaceRules.RuleSource rule, @Nullable ResourceKey<Biome> biome)
+    {
+        if (rule instanceof SurfaceRules.SequenceRuleSource sequence)
+        {
+            List<SurfaceRules.RuleSource> children = new ArrayList<>();
+
+            for (SurfaceRules.RuleSource child : sequence.sequence())
+            {
+                SurfaceRules.RuleSource specialized = specialize(child, biome);
+
+                if (specialized != null)
+                {
+                    children.add(specialized);
+                }
+            }
+
+            if (children.isEmpty()) return null;
+            if (children.size() == 1) return children.get(0);
+            return SurfaceRules.sequence(children.toArray(SurfaceRules.RuleSource[]::new));
+        }
+        else if (rule instanceof SurfaceRules.TestRuleSource test)
+        {
+            SurfaceRules.RuleSource thenRun = specialize(test.thenRun(), biome);
+
+            if (test.ifTrue() instanceof SurfaceRules.BiomeConditionSource condition)
+            {
+                // The fallback is built without a biome, which fails every biome check
+                return biome != null && condition.biomes.contains(biome) ? thenRun : null;
+            }
+
+            return thenRun == null ? null : SurfaceRules.ifTrue(test.ifTrue(), thenRun);
+        }
+
+        return rule;
+    }
+
+    private static class DispatchRule implements SurfaceRules.SurfaceRule
+    {
+        private final BiomeDispatchRuleSource source;
+        private final SurfaceRules.Context context;
+        private final Map<ResourceKey<Biome>, SurfaceRules.SurfaceRule> rules = new Reference2ObjectOpenHashMap<>();
+        @Nullable
+        private final SurfaceRules.SurfaceRule fallback;
+        @Nullable
+        private final SurfaceRules.SurfaceRule original;
+
+        private DispatchRule(BiomeDispatchRuleSource source, SurfaceRules.Context context)
+        {
+            this.source = source;
+            this.context = context;
+            this.fallback = source.fallback == null ? null : source.fallback.apply(context);
+            this.original = VERIFY ? source.source.apply(context) : null;
+        }
+
+        @Nullable
+        @Override
+        public BlockState tryApply(int x, int y, int z)
+        {
+            Holder<Biome> biome = this.context.biome.get();
+            ResourceKey<Biome> key = biome.unwrapKey().orElse(null);
+            SurfaceRules.SurfaceRule rule = this.fallback;
+
+            if (key != null && this.source.rules.containsKey(key))
+            {
+                // Rules are only built for the biomes a chunk actually contains
+                rule = this.rules.computeIfAbsent(key, k -> this.source.rules.get(k).apply(this.context));
+            }
+
+            BlockState state = rule == null ? null : rule.tryApply(x, y, z);
+
+            if (this.original != null)
+            {
+                BlockState expected = this.original.tryApply(x, y, z);
+
+                if (expected != state)
+                {
+                    logMismatch(key, x, y, z, expected, state);
+                }
+            }
+
+            return state;
+        }
+
+        private static void logMismatch(@Nullable ResourceKey<Biome> biome, int x, int y, int z, @Nullable BlockState expected, @Nullable BlockState actual)
+        {
+            int count = MISMATCHES.incrementAndGet();
+
+            // Log the first few in full, after that only a running count so a broken table doesn't flood the log
+            if (count <= LOGGED_MISMATCHES)
+            {
+                BiomesOPlenty.LOGGER.warn("Surface rule mismatch in {} at {}, {}, {}: expected {} but got {}", biome == null ? "unknown biome" : biome.location(), x, y, z, expected, actual);
+            }
+            else if (count % MISMATCH_SUMMARY_INTERVAL == 0)
+            {
+                BiomesOPlenty.LOGGER.warn("{} surface rule mismatches so far", count);
+            }
+        }
+    }
+}
@@ -4,20 +4,17 @@
  ******************************************************************************/
 package biomesoplenty.worldgen.carver;
 
-import biomesoplenty.api.block.BOPBlocks;
-import com.google.common.collect.ImmutableSet;
+import biomesoplenty.init.ModTags;
+import biomesoplenty.util.worldgen.BlockStateTable;
 import com.mojang.serialization.Codec;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.carver.CaveCarverConfiguration;
 import net.minecraft.world.level.levelgen.carver.CaveWorldCarver;
 
-import java.util.Set;
-
 public class OriginCaveWorldCarver extends CaveWorldCarver
 {
-    protected Set<Block> replaceableBlocks = ImmutableSet.of(BOPBlocks.ORIGIN_GRASS_BLOCK, Blocks.STONE, Blocks.GRANITE, Blocks.DIORITE, Blocks.ANDESITE, Blocks.DIRT, Blocks.COARSE_DIRT, Blocks.PODZOL, Blocks.GRASS_BLOCK, Blocks.TERRACOTTA, Blocks.WHITE_TERRACOTTA, Blocks.ORANGE_TERRACOTTA, Blocks.MAGENTA_TERRACOTTA, Blocks.LIGHT_BLUE_TERRACOTTA, Blocks.YELLOW_TERRACOTTA, Blocks.LIME_TERRACOTTA, Blocks.PINK_TERRACOTTA, Blocks.GRAY_TERRACOTTA, Blocks.LIGHT_GRAY_TERRACOTTA, Blocks.CYAN_TERRACOTTA, Blocks.PURPLE_TERRACOTTA, Blocks.BLUE_TERRACOTTA, Blocks.BROWN_TERRACOTTA, Blocks.GREEN_TERRACOTTA, Blocks.RED_TERRACOTTA, Blocks.BLACK_TERRACOTTA, Blocks.SANDSTONE, Blocks.RED_SANDSTONE, Blocks.MYCELIUM, Blocks.SNOW, Blocks.PACKED_ICE);
+    // Shared by BOP carvers, so the tag is only resolved once per state after each reload
+    public static final BlockStateTable REPLACEABLE = BlockStateTable.create(state -> state.is(ModTags.Blocks.CARVER_REPLACEABLES));
 
     public OriginCaveWorldCarver(Codec<CaveCarverConfiguration> p_i231917_1_)
     {
@@ -27,6 +24,6 @@ public class OriginCaveWorldCarver extends CaveWorldCarver
     @Override
     protected boolean canReplaceBlock(CaveCarverConfiguration configuration, BlockState state)
     {
-        return this.replaceableBlocks.contains(state.getBlock());
+        return REPLACEABLE.test(state);
     }
 }
@@ -8,6 +8,8 @@ import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.block.AnomalyBlock;
 import biomesoplenty.init.ModTags;
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.FeatureBounds;
+import biomesoplenty.util.worldgen.GroundFinder;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.tags.BlockTags;
@@ -23,8 +25,8 @@ import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConf
 
 public class AnomalyFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).getBlock() == Blocks.END_STONE || world.getBlockState(pos).getBlock() == BOPBlocks.UNMAPPED_END_STONE;
-    protected SimpleBlockPredicate replace = (world, pos) -> world.getBlockState(pos).is(BlockTags.REPLACEABLE_BY_TREES) || world.getBlockState(pos).getBlock() instanceof VegetationBlock || world.getBlockState(pos).is(ModTags.Blocks.NULL_REPLACEABLE);
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.getBlock() == Blocks.END_STONE || state.getBlock() == BOPBlocks.UNMAPPED_END_STONE);
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.is(BlockTags.REPLACEABLE_BY_TREES) || state.getBlock() instanceof VegetationBlock || state.is(ModTags.Blocks.NULL_REPLACEABLE));
 
     public AnomalyFeature(Codec<NoneFeatureConfiguration> deserializer)
     {
@@ -39,7 +41,7 @@ public class AnomalyFeature extends Feature<NoneFeatureConfiguration>
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && !this.placeOn.matches(world, startPos)) {startPos = startPos.below();}
+        startPos = GroundFinder.moveDownUntil(world, startPos, this.placeOn);
 
         if (!this.placeOn.matches(world, startPos.offset(0, 0, 0)))
         {
@@ -58,8 +60,21 @@ public class AnomalyFeature extends Feature<NoneFeatureConfiguration>
 
         BlockPos pos = startPos;
 
+        // Rolls made by carving a layer of air: one for each position on the outer two rings, excluding their corners.
+        // The outer ring always rolls, and the ring inside it rolls for every block that isn't null or replaceable by
+        // trees, which includes air.
+        int emptyLayerRolls = (4 * size + 20) + (4 * size + 12);
+
         for (int y = 6; y > -128; y--)
         {
+            // Carving leaves layers of air unchanged, so they are skipped along with those outside of the world. The
+            // rolls carving would have made are still made so that the rest of the anomaly generates the same as before.
+            if (FeatureBounds.isEmptyLayer(world, pos.getX() - 3, pos.getZ() - 3, pos.getX() + size + 3, pos.getZ() + size + 3, pos.getY() + y))
+            {
+                for (int i = 0; i < emptyLayerRolls; i++) {rand.nextInt(4);}
+                continue;
+            }
+
             for (int x = -3; x <= size+3; x++)
             {
                 for (int z = -3; z <= size+3; z++)
@@ -191,7 +206,7 @@ public class AnomalyFeature extends Feature<NoneFeatureConfiguration>
                 for (int z = 0; z <= size; z++)
                 {
                     BlockPos pos1 = pos.offset(x, anomalyHeight+y, z);
-                    if (pos1.getY() >= 255 || (!world.getBlockState(pos1).isAir() && world.getBlockState(pos1).getBlock() != BOPBlocks.ANOMALY))
+                    if (world.isOutsideBuildHeight(pos1) || (!world.getBlockState(pos1).isAir() && world.getBlockState(pos1).getBlock() != BOPBlocks.ANOMALY))
                     {
                         return false;
                     }
@@ -12,6 +12,7 @@ package biomesoplenty.worldgen.feature.misc;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.tags.FluidTags;
 import net.minecraft.util.RandomSource;
@@ -19,14 +20,18 @@ import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
 import net.minecraft.world.level.levelgen.feature.configurations.FeatureConfiguration;
 import net.minecraft.world.level.levelgen.feature.stateproviders.BlockStateProvider;
 
+import java.util.Arrays;
+
 public class BOPLakeFeature extends net.minecraft.world.level.levelgen.feature.LakeFeature
 {
     private static final BlockState AIR;
+    private static final ThreadLocal<LakeShape> SHAPE = ThreadLocal.withInitial(LakeShape::new);
 
     public BOPLakeFeature(Codec<net.minecraft.world.level.levelgen.feature.LakeFeature.Configuration> codec) {
         super(codec);
@@ -43,7 +48,8 @@ public class BOPLakeFeature extends net.minecraft.world.level.levelgen.feature.L
             return false;
         } else {
             blockPos = blockPos.below(4);
-            boolean[] bls = new boolean[2048];
+            LakeShape shape = SHAPE.get();
+            shape.clear();
             int i = randomSource.nextInt(4) + 4;
 
             for(int j = 0; j < i; ++j) {
@@ -62,51 +68,34 @@ public class BOPLakeFeature extends net.minecraft.world.level.levelgen.feature.L
                             double q = ((double)m - k) / (f / 2.0);
                             double r = o * o + p * p + q * q;
                             if (r < 1.0) {
-                                bls[(l * 16 + m) * 8 + n] = true;
+                                shape.set(l, n, m);
                             }
                         }
                     }
                 }
             }
 
+            // The boundary is used both to validate the lake and to place its barrier
+            shape.computeBoundary();
             BlockState blockState = configuration.fluid().getState(randomSource, blockPos);
 
-            int t;
-            boolean w;
-            int s;
-            int u;
-            for(s = 0; s < 16; ++s) {
-                for(t = 0; t < 16; ++t) {
-                    for(u = 0; u < 8; ++u) {
-                        w = !bls[(s * 16 + t) * 8 + u] && (s < 15 && bls[((s + 1) * 16 + t) * 8 + u] || s > 0 && bls[((s - 1) * 16 + t) * 8 + u] || t < 15 && bls[(s * 16 + t + 1) * 8 + u] || t > 0 && bls[(s * 16 + (t - 1)) * 8 + u] || u < 7 && bls[(s * 16 + t) * 8 + u + 1] || u > 0 && bls[(s * 16 + t) * 8 + (u - 1)]);
-                        if (w) {
-                            BlockState blockState2 = worldGenLevel.getBlockState(blockPos.offset(s, u, t));
-                            if (u >= 4 && blockState2.liquid()) {
-                                return false;
-                            }
-
-                            if (u < 4 && !blockState2.isSolid() && worldGenLevel.getBlockState(blockPos.offset(s, u, t)) != blockState) {
-                                return false;
-                            }
-                        }
-                    }
-                }
+            if (!this.isContained(worldGenLevel, blockPos, shape, blockState)) {
+                return false;
             }
 
             boolean bl2;
-            for(s = 0; s < 16; ++s) {
-                for(t = 0; t < 16; ++t) {
-                    for(u = 0; u < 8; ++u) {
-                        if (bls[(s * 16 + t) * 8 + u]) {
-                            BlockPos blockPos2 = blockPos.offset(s, u, t);
-                            if (this.canReplaceBlock(worldGenLevel.getBlockState(blockPos2))) {
-                                bl2 = u >= 4;
-                                worldGenLevel.setBlock(blockPos2, bl2 ? AIR : blockState, 2);
-                                if (bl2) {
-                                    worldGenLevel.scheduleTick(blockPos2, AIR.getBlock(), 0);
-                                    this.markAboveForPostProcessing(worldGenLevel, blockPos2);
-                                }
-                            }
+            BlockPos.MutableBlockPos blockPos2 = new BlockPos.MutableBlockPos();
+            for(int word = 0; word < LakeShape.WORDS; ++word) {
+                for(long bits = shape.filled[word]; bits != 0L; bits &= bits - 1L) {
+                    int index = word * 64 + Long.numberOfTrailingZeros(bits);
+                    int u = LakeShape.y(index);
+                    blockPos2.setWithOffset(blockPos, LakeShape.x(index), u, LakeShape.z(index));
+                    if (this.canReplaceBlock(worldGenLevel.getBlockState(blockPos2))) {
+                        bl2 = u >= 4;
+                        worldGenLevel.setBlock(blockPos2, bl2 ? AIR : blockState, 2);
+                        if (bl2) {
+                            worldGenLevel.scheduleTick(blockPos2.immutable(), AIR.getBlock(), 0);
+                            this.markAboveForPostProcessing(worldGenLevel, blockPos2);
                         }
                     }
                 }
@@ -114,17 +103,16 @@ public class BOPLakeFeature extends net.minecraft.world.level.levelgen.feature.L
 
             BlockState blockState3 = configuration.barrier().getState(randomSource, blockPos);
             if (!blockState3.isAir()) {
-                for(t = 0; t < 16; ++t) {
-                    for(u = 0; u < 16; ++u) {
-                        for(int v = 0; v < 8; ++v) {
-                            bl2 = !bls[(t * 16 + u) * 8 + v] && (t < 15 && bls[((t + 1) * 16 + u) * 8 + v] || t > 0 && bls[((t - 1) * 16 + u) * 8 + v] || u < 15 && bls[(t * 16 + u + 1) * 8 + v] || u > 0 && bls[(t * 16 + (u - 1)) * 8 + v] || v < 7 && bls[(t * 16 + u) * 8 + v + 1] || v > 0 && bls[(t * 16 + u) * 8 + (v - 1)]);
-                            if (bl2 && (v < 4 || randomSource.nextInt(2) != 0)) {
-                                BlockState blockState4 = worldGenLevel.getBlockState(blockPos.offset(t, v, u));
-                                if (blockState4.isSolid() && !blockState4.is(BlockTags.LAVA_POOL_STONE_CANNOT_REPLACE)) {
-                                    BlockPos blockPos3 = blockPos.offset(t, v, u);
-                                    worldGenLevel.setBlock(blockPos3, blockState3, 2);
-                                    this.markAboveForPostProcessing(worldGenLevel, blockPos3);
-                                }
+                for(int word = 0; word < LakeShape.WORDS; ++word) {
+                    for(long bits = shape.boundary[word]; bits != 0L; bits &= bits - 1L) {
+                        int index = word * 64 + Long.numberOfTrailingZeros(bits);
+                        int v = LakeShape.y(index);
+                        if (v < 4 || randomSource.nextInt(2) != 0) {
+                            blockPos2.setWithOffset(blockPos, LakeShape.x(index), v, LakeShape.z(index));
+                            BlockState blockState4 = worldGenLevel.getBlockState(blockPos2);
+                            if (blockState4.isSolid() && !blockState4.is(BlockTags.LAVA_POOL_STONE_CANNOT_REPLACE)) {
+                                worldGenLevel.setBlock(blockPos2, blockState3, 2);
+                                this.markAboveForPostProcessing(worldGenLevel, blockPos2);
                             }
                         }
                     }
@@ -135,6 +123,46 @@ public class BOPLakeFeature extends net.minecraft.world.level.levelgen.feature.L
         }
     }
 
+    // Checks that nothing can flow into or out of the lake, reading the boundary directly from the chunk sections
+    private boolean isContained(WorldGenLevel level, BlockPos origin, LakeShape shape, BlockState fluid)
+    {
+        // The lake is 16 blocks across, so it covers at most two chunks along each axis
+        ChunkAccess[] chunks = new ChunkAccess[4];
+        int originChunkX = SectionPos.blockToSectionCoord(origin.getX());
+        int originChunkZ = SectionPos.blockToSectionCoord(origin.getZ());
+
+        for (int word = 0; word < LakeShape.WORDS; word++)
+        {
+            for (long bits = shape.boundary[word]; bits != 0L; bits &= bits - 1L)
+            {
+                int index = word * 64 + Long.numberOfTrailingZeros(bits);
+                int x = origin.getX() + LakeShape.x(index);
+                int y = origin.getY() + LakeShape.y(index);
+                int z = origin.getZ() + LakeShape.z(index);
+                int chunkX = SectionPos.blockToSectionCoord(x);
+                int chunkZ = SectionPos.blockToSectionCoord(z);
+                int chunkIndex = (chunkX - originChunkX) * 2 + (chunkZ - originChunkZ);
+                ChunkAccess chunk = chunks[chunkIndex];
+
+                if (chunk == null)
+                {
+                    chunk = level.getChunk(chunkX, chunkZ);
+                    chunks[chunkIndex] = chunk;
+                }
+
+                // Positions outside of the build height read as void air
+                int sectionIndex = chunk.getSectionIndex(y);
+                BlockState state = sectionIndex < 0 || sectionIndex >= chunk.getSectionsCount() ? Blocks.VOID_AIR.defaultBlockState() : chunk.getSection(sectionIndex).getBlockState(x & 15, y & 15, z & 15);
+
+                if (LakeShape.y(index) >= 4 ? state.liquid() : !state.isSolid() && state != fluid)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private boolean canReplaceBlock(BlockState blockState) {
         return !blockState.is(BlockTags.FEATURES_CANNOT_REPLACE);
     }
@@ -142,5 +170,69 @@ public class BOPLakeFeature extends net.minecraft.world.level.levelgen.feature.L
     static {
         AIR = Blocks.CAVE_AIR.defaultBlockState();
     }
-}
 
+    /**
+     * A 16x8x16 volume packed one bit per block. The 8 blocks of each column share a byte, so a column's neighbours
+     * above and below are found with a shift and the whole boundary is worked out a column at a time.
+     */
+    private static class LakeShape
+    {
+        private static final int WORDS = 16 * 16 * 8 / 64;
+
+        private final long[] filled = new long[WORDS];
+        private final long[] boundary = new long[WORDS];
+
+        private void clear()
+        {
+            Arrays.fill(this.filled, 0L);
+            Arrays.fill(this.boundary, 0L);
+        }
+
+        private void set(int x, int y, int z)
+        {
+            int index = (x * 16 + z) * 8 + y;
+            this.filled[index >> 6] |= 1L << (index & 63);
+        }
+
+        // Finds every empty position with a filled neighbour on any of its six sides
+        private void computeBoundary()
+        {
+            for (int x = 0; x < 16; x++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    long column = this.column(x, z);
+                    long neighbours = (column << 1) | (column >>> 1) | this.column(x - 1, z) | this.column(x + 1, z) | this.column(x, z - 1) | this.column(x, z + 1);
+                    int columnIndex = x * 16 + z;
+                    this.boundary[columnIndex >> 3] |= (neighbours & ~column & 0xFFL) << ((columnIndex & 7) * 8);
+                }
+            }
+        }
+
+        private long column(int x, int z)
+        {
+            if (x < 0 || x > 15 || z < 0 || z > 15)
+            {
+                return 0L;
+            }
+
+            int columnIndex = x * 16 + z;
+            return (this.filled[columnIndex >> 3] >>> ((columnIndex & 7) * 8)) & 0xFFL;
+        }
+
+        private static int x(int index)
+        {
+            return index >> 7;
+        }
+
+        private static int y(int index)
+        {
+            return index & 7;
+        }
+
+        private static int z(int index)
+        {
+            return (index >> 3) & 15;
+        }
+    }
+}
@@ -5,6 +5,7 @@
 package biomesoplenty.worldgen.feature.misc;
 
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.GroundFinder;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.tags.BlockTags;
@@ -16,13 +17,12 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 
 public class BigPumpkinFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).getBlock() == Blocks.GRASS_BLOCK;
-    protected SimpleBlockPredicate replace = (world, pos) -> TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).getBlock() == Blocks.PUMPKIN || world.getBlockState(pos).getBlock() == Blocks.CARVED_PUMPKIN || world.getBlockState(pos).getBlock() == Blocks.JACK_O_LANTERN || world.getBlockState(pos).is(BlockTags.REPLACEABLE_BY_TREES);
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.getBlock() == Blocks.GRASS_BLOCK);
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.getBlock() == Blocks.PUMPKIN || state.getBlock() == Blocks.CARVED_PUMPKIN || state.getBlock() == Blocks.JACK_O_LANTERN || state.is(BlockTags.REPLACEABLE_BY_TREES));
 
     public BigPumpkinFeature(Codec<NoneFeatureConfiguration> deserializer)
     {
@@ -37,7 +37,7 @@ public class BigPumpkinFeature extends Feature<NoneFeatureConfiguration>
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {startPos = startPos.below();}
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         if (!this.placeOn.matches(world, startPos.offset(2, 0, 2)))
         {
@@ -124,7 +124,7 @@ public class BigPumpkinFeature extends Feature<NoneFeatureConfiguration>
                 for (int z = 0; z <= 5; z++)
                 {
                     BlockPos pos1 = pos.offset(x, y, z);
-                    if (pos1.getY() >= 255 || !this.replace.matches(world, pos1))
+                    if (world.isOutsideBuildHeight(pos1) || !this.replace.matches(world, pos1))
                     {
                         return false;
                     }
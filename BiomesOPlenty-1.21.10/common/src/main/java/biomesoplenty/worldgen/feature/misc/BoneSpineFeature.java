@@ -6,9 +6,11 @@ package biomesoplenty.worldgen.feature.misc;
 
 import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.GroundFinder;
 import biomesoplenty.init.ModTags;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
+import net.minecraft.tags.BlockTags;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.LevelSimulatedReader;
 import net.minecraft.world.level.WorldGenLevel;
@@ -18,13 +20,12 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 
 public class BoneSpineFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).is(ModTags.Blocks.FLESH) || world.getBlockState(pos).getBlock() == Blocks.GRASS_BLOCK;
-    protected SimpleBlockPredicate replace = (world, pos) -> this.isAir(world, pos) || TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).liquid() || world.getBlockState(pos).getBlock() == BOPBlocks.PUS_BUBBLE || world.getBlockState(pos).getBlock() == BOPBlocks.HAIR;
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.is(ModTags.Blocks.FLESH) || state.getBlock() == Blocks.GRASS_BLOCK);
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.liquid() || state.getBlock() == BOPBlocks.PUS_BUBBLE || state.getBlock() == BOPBlocks.HAIR);
     private int maxHeight = 3;
 
     public BoneSpineFeature(Codec<NoneFeatureConfiguration> deserializer)
@@ -40,7 +41,7 @@ public class BoneSpineFeature extends Feature<NoneFeatureConfiguration>
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {startPos = startPos.below();}
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         if (!this.placeOn.matches(world, startPos))
         {
@@ -85,7 +86,7 @@ public class BoneSpineFeature extends Feature<NoneFeatureConfiguration>
                 for (int z = -2; z <= 2; z++)
                 {
                     BlockPos pos1 = pos.offset(x, y, z);
-                    if (pos1.getY() >= 255 || !this.replace.matches(world, pos1))
+                    if (world.isOutsideBuildHeight(pos1) || !this.replace.matches(world, pos1))
                     {
                         return false;
                     }
@@ -6,6 +6,7 @@ package biomesoplenty.worldgen.feature.misc;
 
 import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.GroundFinder;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -23,13 +24,12 @@ import net.minecraft.world.level.block.state.properties.Half;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 
 public class EndscraperFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).getBlock() == Blocks.END_STONE;
-    protected SimpleBlockPredicate replace = (world, pos) -> TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).is(BlockTags.REPLACEABLE_BY_TREES) || world.getBlockState(pos).getBlock() instanceof VegetationBlock || world.getBlockState(pos).getBlock() == BOPBlocks.NULL_END_STONE || world.getBlockState(pos).getBlock() == BOPBlocks.UNMAPPED_END_STONE;
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.getBlock() == Blocks.END_STONE);
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.is(BlockTags.REPLACEABLE_BY_TREES) || state.getBlock() instanceof VegetationBlock || state.getBlock() == BOPBlocks.NULL_END_STONE || state.getBlock() == BOPBlocks.UNMAPPED_END_STONE);
 
     public EndscraperFeature(Codec<NoneFeatureConfiguration> deserializer)
     {
@@ -44,7 +44,7 @@ public class EndscraperFeature extends Feature<NoneFeatureConfiguration>
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {startPos = startPos.below();}
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         int size = 9-(3*rand.nextInt(2))+(3*rand.nextInt(4));
         int stories = 1 + rand.nextInt(6);
@@ -475,7 +475,7 @@ public class EndscraperFeature extends Feature<NoneFeatureConfiguration>
                 for (int z = -1; z <= size+1; z++)
                 {
                     BlockPos pos1 = pos.offset(x, y, z);
-                    if (pos1.getY() >= 255 || !this.replace.matches(world, pos1) || !respectsCutoff((WorldGenRegion)world, pos1))
+                    if (world.isOutsideBuildHeight(pos1) || !this.replace.matches(world, pos1) || !respectsCutoff((WorldGenRegion)world, pos1))
                     {
                         return false;
                     }
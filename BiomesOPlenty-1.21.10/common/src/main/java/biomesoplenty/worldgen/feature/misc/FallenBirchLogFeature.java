@@ -6,6 +6,7 @@ package biomesoplenty.worldgen.feature.misc;
 
 import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.GroundFinder;
 import com.ibm.icu.text.RelativeDateTimeFormatter;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
@@ -19,14 +20,13 @@ import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 import net.minecraft.world.level.material.Fluids;
 
 public class FallenBirchLogFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).getBlock() == Blocks.GRASS_BLOCK || world.getBlockState(pos).getBlock() == Blocks.COARSE_DIRT;
-    protected SimpleBlockPredicate replace = (world, pos) -> TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).getBlock() instanceof VegetationBlock;
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.getBlock() == Blocks.GRASS_BLOCK || state.getBlock() == Blocks.COARSE_DIRT);
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.getBlock() instanceof VegetationBlock);
 
     public FallenBirchLogFeature(Codec<NoneFeatureConfiguration> deserializer)
     {
@@ -41,9 +41,7 @@ public class FallenBirchLogFeature extends Feature<NoneFeatureConfiguration>
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {
-            startPos = startPos.below();
-        }
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         int length = 4 + rand.nextInt(5);
         Direction direction = Direction.Plane.HORIZONTAL.getRandomDirection(rand);
@@ -147,7 +145,7 @@ public class FallenBirchLogFeature extends Feature<NoneFeatureConfiguration>
             for (int i = 0; i < length; i++)
             {
                 BlockPos pos1 = pos.above(y).relative(direction, i);
-                if (pos1.getY() >= 255 || !this.replace.matches(world, pos1))
+                if (world.isOutsideBuildHeight(pos1) || !this.replace.matches(world, pos1))
                 {
                     return false;
                 }
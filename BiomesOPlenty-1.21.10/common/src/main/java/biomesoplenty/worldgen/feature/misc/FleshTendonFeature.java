@@ -12,6 +12,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.WorldGenRegion;
+import net.minecraft.tags.BlockTags;
 import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.ChunkPos;
@@ -21,13 +22,12 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 import net.minecraft.world.phys.Vec3;
 
 public class FleshTendonFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate replace = (world, pos) -> TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).getBlock() == BOPBlocks.ROSE_QUARTZ_CLUSTER || world.getBlockState(pos).getBlock() == BOPBlocks.LARGE_ROSE_QUARTZ_BUD || world.getBlockState(pos).getBlock() == BOPBlocks.MEDIUM_ROSE_QUARTZ_BUD || world.getBlockState(pos).getBlock() == BOPBlocks.SMALL_ROSE_QUARTZ_BUD || world.getBlockState(pos).getBlock() == BOPBlocks.FLESH_TENDONS_STRAND || world.getBlockState(pos).getBlock() == BOPBlocks.FLESH_TENDONS || world.getBlockState(pos).getBlock() == BOPBlocks.PUS_BUBBLE || world.getBlockState(pos).getBlock() == BOPBlocks.HAIR || world.getBlockState(pos).getBlock() == BOPBlocks.EYEBULB || world.getBlockState(pos).getBlock() == BOPBlocks.BLOOD || world.getBlockState(pos).getBlock() == Blocks.LAVA;
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.getBlock() == BOPBlocks.ROSE_QUARTZ_CLUSTER || state.getBlock() == BOPBlocks.LARGE_ROSE_QUARTZ_BUD || state.getBlock() == BOPBlocks.MEDIUM_ROSE_QUARTZ_BUD || state.getBlock() == BOPBlocks.SMALL_ROSE_QUARTZ_BUD || state.getBlock() == BOPBlocks.FLESH_TENDONS_STRAND || state.getBlock() == BOPBlocks.FLESH_TENDONS || state.getBlock() == BOPBlocks.PUS_BUBBLE || state.getBlock() == BOPBlocks.HAIR || state.getBlock() == BOPBlocks.EYEBULB || state.getBlock() == BOPBlocks.BLOOD || state.getBlock() == Blocks.LAVA);
 
     private static final int MIN_DISTANCE = 8;
     private static final int MAX_DISTANCE = 32;
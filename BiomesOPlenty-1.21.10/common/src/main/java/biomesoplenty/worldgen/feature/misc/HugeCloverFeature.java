@@ -6,6 +6,7 @@ package biomesoplenty.worldgen.feature.misc;
 
 import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.GroundFinder;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -19,13 +20,12 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 
 public class HugeCloverFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).is(BlockTags.DIRT);
-    protected SimpleBlockPredicate replace = (world, pos) -> TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).getBlock() instanceof VegetationBlock;
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.is(BlockTags.DIRT));
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.getBlock() instanceof VegetationBlock);
 
     public HugeCloverFeature(Codec<NoneFeatureConfiguration> deserializer)
     {
@@ -40,7 +40,7 @@ public class HugeCloverFeature extends Feature<NoneFeatureConfiguration>
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {startPos = startPos.below();}
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         if (!this.placeOn.matches(world, startPos))
         {
@@ -86,7 +86,7 @@ public class HugeCloverFeature extends Feature<NoneFeatureConfiguration>
             for (int z = 0; z <= 1; z++)
             {
                 BlockPos pos1 = pos.offset(x, 0, z);
-                if (pos1.getY() >= 255 || !this.replace.matches(world, pos1) || !this.placeOn.matches(world, pos1.below()))
+                if (world.isOutsideBuildHeight(pos1) || !this.replace.matches(world, pos1) || !this.placeOn.matches(world, pos1.below()))
                 {
                     return false;
                 }
@@ -6,6 +6,9 @@ package biomesoplenty.worldgen.feature.misc;
 
 import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.FeatureBounds;
+import biomesoplenty.util.worldgen.GroundFinder;
+import biomesoplenty.util.worldgen.BlockTemplate;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -18,13 +21,497 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 
 public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).is(BlockTags.DIRT);
-    protected SimpleBlockPredicate replace = (world, pos) -> TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).getBlock() instanceof VegetationBlock || world.getBlockState(pos).getBlock() instanceof VegetationBlock || world.getBlockState(pos).getBlock() == BOPBlocks.HIGH_GRASS || world.getBlockState(pos).getBlock() == BOPBlocks.HIGH_GRASS_PLANT;
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.is(BlockTags.DIRT));
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.getBlock() instanceof VegetationBlock || state.getBlock() == BOPBlocks.HIGH_GRASS || state.getBlock() == BOPBlocks.HIGH_GRASS_PLANT);
+
+    private static final BlockTemplate FLOWER_BUD = BlockTemplate.fromLayers(0,
+        new String[] {
+            ".0.",
+            "000",
+            ".0."
+        },
+        new String[] {
+            "010",
+            "121",
+            "010"
+        },
+        new String[] {
+            ".1.",
+            "121",
+            ".1."
+        },
+        new String[] {
+            "...",
+            ".2.",
+            "..."
+        });
+
+    private static final BlockTemplate DANDELION_PUFF = BlockTemplate.fromLayers(-3,
+        new String[] {
+            ".......",
+            ".......",
+            "...1...",
+            "...5...",
+            "...1...",
+            ".......",
+            "......."
+        },
+        new String[] {
+            ".......",
+            "...5...",
+            "...0...",
+            ".50405.",
+            "...0...",
+            "...5...",
+            "......."
+        },
+        new String[] {
+            ".......",
+            ".......",
+            "..545..",
+            "..434..",
+            "..545..",
+            ".......",
+            "......."
+        },
+        new String[] {
+            "...5...",
+            ".5.4.5.",
+            "..434..",
+            "5432345",
+            "..434..",
+            ".5.4.5.",
+            "...5..."
+        },
+        new String[] {
+            ".......",
+            ".......",
+            "..545..",
+            "..434..",
+            "..545..",
+            ".......",
+            "......."
+        },
+        new String[] {
+            ".......",
+            "...5...",
+            ".......",
+            ".5.4.5.",
+            ".......",
+            "...5...",
+            "......."
+        },
+        new String[] {
+            ".......",
+            ".......",
+            ".......",
+            "...5...",
+            ".......",
+            ".......",
+            "......."
+        });
+
+    private static final BlockTemplate SUNFLOWER = BlockTemplate.fromLayers(-2,
+        new String[] {
+            "...........",
+            "...........",
+            ".....1.....",
+            ".....0.....",
+            "...........",
+            "..10...01..",
+            "...........",
+            ".....0.....",
+            ".....1.....",
+            "...........",
+            "..........."
+        },
+        new String[] {
+            "...........",
+            ".55.....55.",
+            ".554...455.",
+            "..4.010.4..",
+            "...00100...",
+            "...11.11...",
+            "...00100...",
+            "..4.010.4..",
+            ".554...455.",
+            ".55.....55.",
+            "..........."
+        },
+        new String[] {
+            ".....5.....",
+            "....555....",
+            "....555....",
+            "...54445...",
+            ".554323455.",
+            "55542324555",
+            ".554323455.",
+            "...54445...",
+            "....555....",
+            "....555....",
+            ".....5....."
+        });
+
+    private static final BlockTemplate HYACINTH = BlockTemplate.fromLayers(0,
+        new String[] {
+            "..2..",
+            ".....",
+            "2.0.2",
+            ".....",
+            "..2.."
+        },
+        new String[] {
+            ".....",
+            ".2.2.",
+            "..1..",
+            ".2.2.",
+            "....."
+        },
+        new String[] {
+            ".3.3.",
+            "33333",
+            ".303.",
+            "33333",
+            ".3.3."
+        },
+        new String[] {
+            ".....",
+            ".3.3.",
+            "..1..",
+            ".3.3.",
+            "....."
+        },
+        new String[] {
+            ".3.3.",
+            "33333",
+            ".303.",
+            "33333",
+            ".3.3."
+        },
+        new String[] {
+            ".....",
+            ".4.4.",
+            "..1..",
+            ".4.4.",
+            "....."
+        },
+        new String[] {
+            ".4.4.",
+            "44444",
+            ".404.",
+            "44444",
+            ".4.4."
+        },
+        new String[] {
+            ".....",
+            ".4.4.",
+            "..1..",
+            ".4.4.",
+            "....."
+        },
+        new String[] {
+            ".5.5.",
+            "55555",
+            ".505.",
+            "55555",
+            ".5.5."
+        },
+        new String[] {
+            ".....",
+            ".5.5.",
+            "..1..",
+            ".5.5.",
+            "....."
+        },
+        new String[] {
+            ".....",
+            ".....",
+            "..5..",
+            ".....",
+            "....."
+        },
+        new String[] {
+            ".....",
+            ".5.5.",
+            ".....",
+            ".5.5.",
+            "....."
+        });
+
+    private static final BlockTemplate DAFFODIL = BlockTemplate.fromLayers(-1,
+        new String[] {
+            ".......",
+            ".......",
+            "...0...",
+            ".......",
+            "...0...",
+            ".......",
+            "......."
+        },
+        new String[] {
+            ".......",
+            "...1...",
+            ".53135.",
+            "5352535",
+            ".53135.",
+            "...1...",
+            "......."
+        },
+        new String[] {
+            ".55.55.",
+            ".53.35.",
+            "...2...",
+            "..242..",
+            "...2...",
+            ".53.35.",
+            ".55.55."
+        },
+        new String[] {
+            ".......",
+            ".......",
+            "...4...",
+            "..434..",
+            "...4...",
+            ".......",
+            "......."
+        },
+        new String[] {
+            ".......",
+            "...3...",
+            "..4.4..",
+            ".3.3.3.",
+            "..4.4..",
+            "...3...",
+            "......."
+        },
+        new String[] {
+            ".......",
+            "..333..",
+            ".3...3.",
+            ".3.5.3.",
+            ".3...3.",
+            "..333..",
+            "......."
+        },
+        new String[] {
+            ".......",
+            "..333..",
+            ".3...3.",
+            ".3...3.",
+            ".3...3.",
+            "..333..",
+            "......."
+        },
+        new String[] {
+            ".......",
+            "..3.3..",
+            ".3...3.",
+            ".......",
+            ".3...3.",
+            "..3.3..",
+            "......."
+        });
+
+    private static final BlockTemplate ROSE_X = BlockTemplate.fromLayers(-1,
+        new String[] {
+            ".........",
+            ".........",
+            ".........",
+            "1..0.0..1",
+            ".........",
+            ".........",
+            "........."
+        },
+        new String[] {
+            ".........",
+            ".........",
+            ".0023200.",
+            ".1132311.",
+            ".0023200.",
+            ".........",
+            "........."
+        },
+        new String[] {
+            ".........",
+            "...343...",
+            "..34443..",
+            "..44.44..",
+            "..34443..",
+            "...343...",
+            "........."
+        },
+        new String[] {
+            "...4.4...",
+            "..44444..",
+            ".4444444.",
+            "..44.44..",
+            ".4444444.",
+            "..44444..",
+            "...4.4..."
+        },
+        new String[] {
+            "..44.44..",
+            ".4.555.4.",
+            ".454.454.",
+            "..5...5..",
+            ".454.454.",
+            ".4.555.4.",
+            "..44.44.."
+        },
+        new String[] {
+            "..4...4..",
+            ".4.555.4.",
+            "..5...5..",
+            "..5...5..",
+            "..5...5..",
+            ".4.555.4.",
+            "..4...4.."
+        },
+        new String[] {
+            ".........",
+            "....4....",
+            ".........",
+            "..4...4..",
+            ".........",
+            "....4....",
+            "........."
+        });
+
+    private static final BlockTemplate ROSE_Z = BlockTemplate.fromLayers(-1,
+        new String[] {
+            "...1...",
+            ".......",
+            ".......",
+            "...0...",
+            ".......",
+            "...0...",
+            ".......",
+            ".......",
+            "...1..."
+        },
+        new String[] {
+            ".......",
+            "..010..",
+            "..010..",
+            "..232..",
+            "..323..",
+            "..232..",
+            "..010..",
+            "..010..",
+            "......."
+        },
+        new String[] {
+            ".......",
+            ".......",
+            "..343..",
+            ".34443.",
+            ".44.44.",
+            ".34443.",
+            "..343..",
+            ".......",
+            "......."
+        },
+        new String[] {
+            ".......",
+            "..4.4..",
+            ".44444.",
+            "4444444",
+            ".44.44.",
+            "4444444",
+            ".44444.",
+            "..4.4..",
+            "......."
+        },
+        new String[] {
+            ".......",
+            ".44.44.",
+            "4.555.4",
+            "454.454",
+            ".5...5.",
+            "454.454",
+            "4.555.4",
+            ".44.44.",
+            "......."
+        },
+        new String[] {
+            ".......",
+            ".4...4.",
+            "4.555.4",
+            ".5...5.",
+            ".5...5.",
+            ".5...5.",
+            "4.555.4",
+            ".4...4.",
+            "......."
+        },
+        new String[] {
+            ".......",
+            ".......",
+            "...4...",
+            ".......",
+            ".4...4.",
+            ".......",
+            "...4...",
+            ".......",
+            "......."
+        });
+
+    // Leaves are defined facing north and rotated once for each horizontal direction
+    private static final BlockTemplate SMALL_LEAF = BlockTemplate.fromLayers(0,
+        new String[] {
+            ".",
+            "2",
+            ".",
+            ".",
+            "."
+        },
+        new String[] {
+            "1",
+            "0",
+            ".",
+            ".",
+            "."
+        });
+
+    private static final BlockTemplate LARGE_LEAF = BlockTemplate.fromLayers(0,
+        new String[] {
+            ".1.",
+            "...",
+            "...",
+            ".2.",
+            "...",
+            "...",
+            "...",
+            "...",
+            "..."
+        },
+        new String[] {
+            "...",
+            "010",
+            "010",
+            ".0.",
+            "...",
+            "...",
+            "...",
+            "...",
+            "..."
+        });
+
+    private static final BlockTemplate[] SMALL_LEAVES = new BlockTemplate[4];
+    private static final BlockTemplate[] LARGE_LEAVES = new BlockTemplate[4];
+
+    static
+    {
+        for (Direction direction : Direction.Plane.HORIZONTAL)
+        {
+            SMALL_LEAVES[direction.get2DDataValue()] = SMALL_LEAF.facing(direction);
+            LARGE_LEAVES[direction.get2DDataValue()] = LARGE_LEAF.facing(direction);
+        }
+    }
 
     public HugeFlowerFeature(Codec<NoneFeatureConfiguration> deserializer)
     {
@@ -39,9 +526,7 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {
-            startPos = startPos.below();
-        }
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         if (!this.placeOn.matches(world, startPos.offset(0, 0, 0))) {
             // Abandon if we can't place the tree on this block
@@ -49,19 +534,51 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
         }
 
         int height = 3 + rand.nextInt(14);
+        int flowerType = rand.nextInt(6);
+        if (flowerType == 5) { height = 2 + rand.nextInt(7); }
 
-        if (!this.checkSpace(world, startPos.above(), height)) {
-            // Abandon if there isn't enough room
-            return false;
-        }
+        BlockTemplate head;
+        BlockState[] palette;
 
-        BlockPos pos = startPos.above();
+        switch (flowerType)
+        {
+            default:
+                head = DANDELION_PUFF;
+                palette = getDandelionPuffPalette(world.getRandom());
+                break;
 
+            case 1:
+                head = SUNFLOWER;
+                palette = getSunflowerPalette(world.getRandom());
+                break;
 
+            case 2:
+                head = HYACINTH;
+                palette = getHyacinthPalette(world.getRandom());
+                break;
 
-        int flowerType = rand.nextInt(6);
-        if (flowerType == 5) { height = 2 + rand.nextInt(7); }
+            case 3:
+                palette = getRosePalette(world.getRandom());
+                head = world.getRandom().nextInt(2) == 0 ? ROSE_X : ROSE_Z;
+                break;
+
+            case 4:
+                head = DAFFODIL;
+                palette = getDaffodilPalette(world.getRandom());
+                break;
 
+            case 5:
+                head = FLOWER_BUD;
+                palette = getFlowerBudPalette(world.getRandom());
+                break;
+        }
+
+        if (!this.checkSpace(world, startPos.above(), height, head)) {
+            // Abandon if there isn't enough room
+            return false;
+        }
+
+        BlockPos pos = startPos.above();
         Direction direction = Direction.Plane.HORIZONTAL.getRandomDirection(rand);
 
         for (int y = 0; y < height; y++)
@@ -96,39 +613,13 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
             }
         }
 
-        switch (flowerType)
-        {
-            default:
-                generateDandelionPuff(world, pos, height);
-                break;
-
-            case 1:
-                generateSunflower(world, pos, height);
-                break;
-
-            case 2:
-                generateHyacinth(world, pos, height);
-                break;
-
-            case 3:
-                generateRose(world, pos, height);
-                break;
-
-            case 4:
-                generateDaffodil(world, pos, height);
-                break;
-
-            case 5:
-                generateFlowerBud(world, pos, height);
-                break;
-        }
-
+        head.place(world, pos.above(height), palette, this.replace);
         return true;
     }
 
-    public void generateFlowerBud(WorldGenLevel world, BlockPos pos, int height)
+    private static BlockState[] getFlowerBudPalette(RandomSource random)
     {
-        int flowerColor = world.getRandom().nextInt(7);
+        int flowerColor = random.nextInt(7);
         BlockState budColor;
 
         switch (flowerColor)
@@ -146,38 +637,12 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
                 break;
         }
 
-        pos = pos.above(height);
-
-        this.setBlock(world, pos, BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(-1, 0, 0), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, 0, 0), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, 0, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, 0, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(-1, 1, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, 1, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, 1, -1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, 1, 1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(-1, 1, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(-1, 1, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, 1, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, 1, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(-1, 2, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, 2, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, 2, -1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, 2, 1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(0, 1, 0), budColor);
-        this.setBlock(world, pos.offset(0, 2, 0), budColor);
-        this.setBlock(world, pos.offset(0, 3, 0), budColor);
+        return palette(budColor);
     }
 
-    public void generateDandelionPuff(WorldGenLevel world, BlockPos pos, int height)
+    private static BlockState[] getDandelionPuffPalette(RandomSource random)
     {
-        int flowerColor = world.getRandom().nextInt(7);
+        int flowerColor = random.nextInt(7);
         BlockState innerDark;
         BlockState innerLight;
         BlockState outerDark;
@@ -207,81 +672,12 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
                 break;
         }
 
-        pos = pos.above(height);
-
-        this.setBlock(world, pos, innerDark);
-
-        this.setBlock(world, pos.offset(-1, 0, 0), innerLight);
-        this.setBlock(world, pos.offset(1, 0, 0), innerLight);
-        this.setBlock(world, pos.offset(0, 0, -1), innerLight);
-        this.setBlock(world, pos.offset(0, 0, 1), innerLight);
-        this.setBlock(world, pos.offset(0, -1, 0), innerLight);
-        this.setBlock(world, pos.offset(0, 1, 0), innerLight);
-
-        this.setBlock(world, pos.offset(-1, 0, -1), outerDark);
-        this.setBlock(world, pos.offset(-1, 0, 1), outerDark);
-        this.setBlock(world, pos.offset(1, 0, -1), outerDark);
-        this.setBlock(world, pos.offset(1, 0, 1), outerDark);
-        this.setBlock(world, pos.offset(-1, 1, 0), outerDark);
-        this.setBlock(world, pos.offset(1, 1, 0), outerDark);
-        this.setBlock(world, pos.offset(0, 1, -1), outerDark);
-        this.setBlock(world, pos.offset(0, 1, 1), outerDark);
-        this.setBlock(world, pos.offset(-1, -1, 0), outerDark);
-        this.setBlock(world, pos.offset(1, -1, 0), outerDark);
-        this.setBlock(world, pos.offset(0, -1, -1), outerDark);
-        this.setBlock(world, pos.offset(0, -1, 1), outerDark);
-
-        this.setBlock(world, pos.offset(-2, 0, 0), outerDark);
-        this.setBlock(world, pos.offset(2, 0, 0), outerDark);
-        this.setBlock(world, pos.offset(0, 0, -2), outerDark);
-        this.setBlock(world, pos.offset(0, 0, 2), outerDark);
-        this.setBlock(world, pos.offset(0, -2, 0), outerDark);
-        this.setBlock(world, pos.offset(0, 2, 0), outerDark);
-
-        this.setBlock(world, pos.offset(-1, 1, -1), outerLight);
-        this.setBlock(world, pos.offset(-1, 1, 1), outerLight);
-        this.setBlock(world, pos.offset(1, 1, -1), outerLight);
-        this.setBlock(world, pos.offset(1, 1, 1), outerLight);
-        this.setBlock(world, pos.offset(-1, -1, -1), outerLight);
-        this.setBlock(world, pos.offset(-1, -1, 1), outerLight);
-        this.setBlock(world, pos.offset(1, -1, -1), outerLight);
-        this.setBlock(world, pos.offset(1, -1, 1), outerLight);
-
-        this.setBlock(world, pos.offset(-3, 0, 0), outerLight);
-        this.setBlock(world, pos.offset(3, 0, 0), outerLight);
-        this.setBlock(world, pos.offset(0, 0, -3), outerLight);
-        this.setBlock(world, pos.offset(0, 0, 3), outerLight);
-        this.setBlock(world, pos.offset(0, -3, 0), outerLight);
-        this.setBlock(world, pos.offset(0, 3, 0), outerLight);
-        this.setBlock(world, pos.offset(-2, 0, -2), outerLight);
-        this.setBlock(world, pos.offset(-2, 0, 2), outerLight);
-        this.setBlock(world, pos.offset(2, 0, -2), outerLight);
-        this.setBlock(world, pos.offset(2, 0, 2), outerLight);
-
-        this.setBlock(world, pos.offset(-2, -2, 0), outerLight);
-        this.setBlock(world, pos.offset(2, -2, 0), outerLight);
-        this.setBlock(world, pos.offset(-2, 2, 0), outerLight);
-        this.setBlock(world, pos.offset(2, 2, 0), outerLight);
-        this.setBlock(world, pos.offset(0, -2, -2), outerLight);
-        this.setBlock(world, pos.offset(0, -2, 2), outerLight);
-        this.setBlock(world, pos.offset(0, 2, -2), outerLight);
-        this.setBlock(world, pos.offset(0, 2, 2), outerLight);
-        this.setBlock(world, pos.offset(-2, 0, 0), outerLight);
-        this.setBlock(world, pos.offset(2, 0, 0), outerLight);
-        this.setBlock(world, pos.offset(0, 0, -2), outerLight);
-        this.setBlock(world, pos.offset(0, 0, 2), outerLight);
-
-        this.setBlock(world, pos.offset(-1, -2, 0), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, -2, 0), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -2, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -2, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -3, -1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -3, 1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
+        return palette(innerDark, innerLight, outerDark, outerLight);
     }
 
-    public void generateSunflower(WorldGenLevel world, BlockPos pos, int height)
+    private static BlockState[] getSunflowerPalette(RandomSource random)
     {
-        int flowerColor = world.getRandom().nextInt(7);
+        int flowerColor = random.nextInt(7);
         BlockState innerDark;
         BlockState innerLight;
         BlockState outerDark;
@@ -311,133 +707,12 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
                 break;
         }
 
-        pos = pos.above(height);
-
-        this.setBlock(world, pos, innerLight);
-
-        this.setBlock(world, pos.offset(-1, 0, -1), innerLight);
-        this.setBlock(world, pos.offset(-1, 0, 1), innerLight);
-        this.setBlock(world, pos.offset(1, 0, -1), innerLight);
-        this.setBlock(world, pos.offset(1, 0, 1), innerLight);
-        this.setBlock(world, pos.offset(-1, 0, 0), innerDark);
-        this.setBlock(world, pos.offset(1, 0, 0), innerDark);
-        this.setBlock(world, pos.offset(0, 0, -1), innerDark);
-        this.setBlock(world, pos.offset(0, 0, 1), innerDark);
-
-        this.setBlock(world, pos.offset(-2, 0, -1), outerDark);
-        this.setBlock(world, pos.offset(-2, 0, 0), outerDark);
-        this.setBlock(world, pos.offset(-2, 0, 1), outerDark);
-        this.setBlock(world, pos.offset(2, 0, -1), outerDark);
-        this.setBlock(world, pos.offset(2, 0, 0), outerDark);
-        this.setBlock(world, pos.offset(2, 0, 1), outerDark);
-        this.setBlock(world, pos.offset(-1, 0, -2), outerDark);
-        this.setBlock(world, pos.offset(0, 0, -2), outerDark);
-        this.setBlock(world, pos.offset(1, 0, -2), outerDark);
-        this.setBlock(world, pos.offset(-1, 0, 2), outerDark);
-        this.setBlock(world, pos.offset(0, 0, 2), outerDark);
-        this.setBlock(world, pos.offset(1, 0, 2), outerDark);
-
-        this.setBlock(world, pos.offset(-2, 0, -2), outerLight);
-        this.setBlock(world, pos.offset(-2, 0, 2), outerLight);
-        this.setBlock(world, pos.offset(2, 0, -2), outerLight);
-        this.setBlock(world, pos.offset(2, 0, 2), outerLight);
-
-        this.setBlock(world, pos.offset(-3, 0, -1), outerLight);
-        this.setBlock(world, pos.offset(-3, 0, 0), outerLight);
-        this.setBlock(world, pos.offset(-3, 0, 1), outerLight);
-        this.setBlock(world, pos.offset(-4, 0, -1), outerLight);
-        this.setBlock(world, pos.offset(-4, 0, 0), outerLight);
-        this.setBlock(world, pos.offset(-4, 0, 1), outerLight);
-        this.setBlock(world, pos.offset(-5, 0, 0), outerLight);
-
-        this.setBlock(world, pos.offset(3, 0, -1), outerLight);
-        this.setBlock(world, pos.offset(3, 0, 0), outerLight);
-        this.setBlock(world, pos.offset(3, 0, 1), outerLight);
-        this.setBlock(world, pos.offset(4, 0, -1), outerLight);
-        this.setBlock(world, pos.offset(4, 0, 0), outerLight);
-        this.setBlock(world, pos.offset(4, 0, 1), outerLight);
-        this.setBlock(world, pos.offset(5, 0, 0), outerLight);
-
-        this.setBlock(world, pos.offset(-1, 0, -3), outerLight);
-        this.setBlock(world, pos.offset(0, 0, -3), outerLight);
-        this.setBlock(world, pos.offset(1, 0, -3), outerLight);
-        this.setBlock(world, pos.offset(-1, 0, -4), outerLight);
-        this.setBlock(world, pos.offset(0, 0, -4), outerLight);
-        this.setBlock(world, pos.offset(1, 0, -4), outerLight);
-        this.setBlock(world, pos.offset(0, 0, -5), outerLight);
-
-        this.setBlock(world, pos.offset(-1, 0, 3), outerLight);
-        this.setBlock(world, pos.offset(0, 0, 3), outerLight);
-        this.setBlock(world, pos.offset(1, 0, 3), outerLight);
-        this.setBlock(world, pos.offset(-1, 0, 4), outerLight);
-        this.setBlock(world, pos.offset(0, 0, 4), outerLight);
-        this.setBlock(world, pos.offset(1, 0, 4), outerLight);
-        this.setBlock(world, pos.offset(0, 0, 5), outerLight);
-
-        this.setBlock(world, pos.offset(-3, -1, -2), outerDark);
-        this.setBlock(world, pos.offset(-2, -1, -3), outerDark);
-        this.setBlock(world, pos.offset(-3, -1, -3), outerLight);
-        this.setBlock(world, pos.offset(-4, -1, -3), outerLight);
-        this.setBlock(world, pos.offset(-3, -1, -4), outerLight);
-        this.setBlock(world, pos.offset(-4, -1, -4), outerLight);
-
-        this.setBlock(world, pos.offset(-3, -1, 2), outerDark);
-        this.setBlock(world, pos.offset(-2, -1, 3), outerDark);
-        this.setBlock(world, pos.offset(-3, -1, 3), outerLight);
-        this.setBlock(world, pos.offset(-4, -1, 3), outerLight);
-        this.setBlock(world, pos.offset(-3, -1, 4), outerLight);
-        this.setBlock(world, pos.offset(-4, -1, 4), outerLight);
-
-        this.setBlock(world, pos.offset(3, -1, -2), outerDark);
-        this.setBlock(world, pos.offset(2, -1, -3), outerDark);
-        this.setBlock(world, pos.offset(3, -1, -3), outerLight);
-        this.setBlock(world, pos.offset(4, -1, -3), outerLight);
-        this.setBlock(world, pos.offset(3, -1, -4), outerLight);
-        this.setBlock(world, pos.offset(4, -1, -4), outerLight);
-
-        this.setBlock(world, pos.offset(3, -1, 2), outerDark);
-        this.setBlock(world, pos.offset(2, -1, 3), outerDark);
-        this.setBlock(world, pos.offset(3, -1, 3), outerLight);
-        this.setBlock(world, pos.offset(4, -1, 3), outerLight);
-        this.setBlock(world, pos.offset(3, -1, 4), outerLight);
-        this.setBlock(world, pos.offset(4, -1, 4), outerLight);
-
-        this.setBlock(world, pos.offset(-1, -1, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, -1, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -1, -1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -1, 1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(-1, -1, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(-1, -1, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, -1, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, -1, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(-2, -1, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(-2, -1, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(-2, -1, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(2, -1, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(2, -1, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(2, -1, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(-1, -1, -2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -1, -2), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, -1, -2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(-1, -1, 2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -1, 2), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(1, -1, 2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(-2, -2, 0), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(2, -2, 0), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -2, -2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -2, 2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(-3, -2, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(3, -2, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -2, -3), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -2, 3), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
+        return palette(innerDark, innerLight, outerDark, outerLight);
     }
 
-    public void generateHyacinth(WorldGenLevel world, BlockPos pos, int height)
+    private static BlockState[] getHyacinthPalette(RandomSource random)
     {
-        int flowerColor = world.getRandom().nextInt(7);
+        int flowerColor = random.nextInt(7);
         BlockState bottomDark;
         BlockState bottomLight;
         BlockState topDark;
@@ -467,128 +742,12 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
                 break;
         }
 
-        pos = pos.above(height);
-
-        this.setBlock(world, pos, BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.above(1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.above(2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.above(3), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.above(4), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.above(5), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.above(6), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.above(7), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.above(8), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.above(9), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(-2, 0, 0), bottomDark);
-        this.setBlock(world, pos.offset(2, 0, 0), bottomDark);
-        this.setBlock(world, pos.offset(0, 0, -2), bottomDark);
-        this.setBlock(world, pos.offset(0, 0, 2), bottomDark);
-
-        this.setBlock(world, pos.offset(-1, 1, -1), bottomDark);
-        this.setBlock(world, pos.offset(-1, 1, 1), bottomDark);
-        this.setBlock(world, pos.offset(1, 1, -1), bottomDark);
-        this.setBlock(world, pos.offset(1, 1, 1), bottomDark);
-
-        this.setBlock(world, pos.offset(-1, 2, 0), bottomLight);
-        this.setBlock(world, pos.offset(1, 2, 0), bottomLight);
-        this.setBlock(world, pos.offset(0, 2, -1), bottomLight);
-        this.setBlock(world, pos.offset(0, 2, 1), bottomLight);
-        this.setBlock(world, pos.offset(-1, 2, -1), bottomLight);
-        this.setBlock(world, pos.offset(-1, 2, 1), bottomLight);
-        this.setBlock(world, pos.offset(1, 2, -1), bottomLight);
-        this.setBlock(world, pos.offset(1, 2, 1), bottomLight);
-        this.setBlock(world, pos.offset(-2, 2, -1), bottomLight);
-        this.setBlock(world, pos.offset(-2, 2, 1), bottomLight);
-        this.setBlock(world, pos.offset(-1, 2, -2), bottomLight);
-        this.setBlock(world, pos.offset(1, 2, -2), bottomLight);
-        this.setBlock(world, pos.offset(2, 2, -1), bottomLight);
-        this.setBlock(world, pos.offset(2, 2, 1), bottomLight);
-        this.setBlock(world, pos.offset(-1, 2, 2), bottomLight);
-        this.setBlock(world, pos.offset(1, 2, 2), bottomLight);
-
-        this.setBlock(world, pos.offset(-1, 3, -1), bottomLight);
-        this.setBlock(world, pos.offset(-1, 3, 1), bottomLight);
-        this.setBlock(world, pos.offset(1, 3, -1), bottomLight);
-        this.setBlock(world, pos.offset(1, 3, 1), bottomLight);
-
-        this.setBlock(world, pos.offset(-1, 4, 0), bottomLight);
-        this.setBlock(world, pos.offset(1, 4, 0), bottomLight);
-        this.setBlock(world, pos.offset(0, 4, -1), bottomLight);
-        this.setBlock(world, pos.offset(0, 4, 1), bottomLight);
-        this.setBlock(world, pos.offset(-1, 4, -1), bottomLight);
-        this.setBlock(world, pos.offset(-1, 4, 1), bottomLight);
-        this.setBlock(world, pos.offset(1, 4, -1), bottomLight);
-        this.setBlock(world, pos.offset(1, 4, 1), bottomLight);
-        this.setBlock(world, pos.offset(-2, 4, -1), bottomLight);
-        this.setBlock(world, pos.offset(-2, 4, 1), bottomLight);
-        this.setBlock(world, pos.offset(-1, 4, -2), bottomLight);
-        this.setBlock(world, pos.offset(1, 4, -2), bottomLight);
-        this.setBlock(world, pos.offset(2, 4, -1), bottomLight);
-        this.setBlock(world, pos.offset(2, 4, 1), bottomLight);
-        this.setBlock(world, pos.offset(-1, 4, 2), bottomLight);
-        this.setBlock(world, pos.offset(1, 4, 2), bottomLight);
-
-        this.setBlock(world, pos.offset(-1, 5, -1), topDark);
-        this.setBlock(world, pos.offset(-1, 5, 1), topDark);
-        this.setBlock(world, pos.offset(1, 5, -1), topDark);
-        this.setBlock(world, pos.offset(1, 5, 1), topDark);
-
-        this.setBlock(world, pos.offset(-1, 6, 0), topDark);
-        this.setBlock(world, pos.offset(1, 6, 0), topDark);
-        this.setBlock(world, pos.offset(0, 6, -1), topDark);
-        this.setBlock(world, pos.offset(0, 6, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 6, -1), topDark);
-        this.setBlock(world, pos.offset(-1, 6, 1), topDark);
-        this.setBlock(world, pos.offset(1, 6, -1), topDark);
-        this.setBlock(world, pos.offset(1, 6, 1), topDark);
-        this.setBlock(world, pos.offset(-2, 6, -1), topDark);
-        this.setBlock(world, pos.offset(-2, 6, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 6, -2), topDark);
-        this.setBlock(world, pos.offset(1, 6, -2), topDark);
-        this.setBlock(world, pos.offset(2, 6, -1), topDark);
-        this.setBlock(world, pos.offset(2, 6, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 6, 2), topDark);
-        this.setBlock(world, pos.offset(1, 6, 2), topDark);
-
-        this.setBlock(world, pos.offset(-1, 7, -1), topDark);
-        this.setBlock(world, pos.offset(-1, 7, 1), topDark);
-        this.setBlock(world, pos.offset(1, 7, -1), topDark);
-        this.setBlock(world, pos.offset(1, 7, 1), topDark);
-
-        this.setBlock(world, pos.offset(-1, 8, 0), topLight);
-        this.setBlock(world, pos.offset(1, 8, 0), topLight);
-        this.setBlock(world, pos.offset(0, 8, -1), topLight);
-        this.setBlock(world, pos.offset(0, 8, 1), topLight);
-        this.setBlock(world, pos.offset(-1, 8, -1), topLight);
-        this.setBlock(world, pos.offset(-1, 8, 1), topLight);
-        this.setBlock(world, pos.offset(1, 8, -1), topLight);
-        this.setBlock(world, pos.offset(1, 8, 1), topLight);
-        this.setBlock(world, pos.offset(-2, 8, -1), topLight);
-        this.setBlock(world, pos.offset(-2, 8, 1), topLight);
-        this.setBlock(world, pos.offset(-1, 8, -2), topLight);
-        this.setBlock(world, pos.offset(1, 8, -2), topLight);
-        this.setBlock(world, pos.offset(2, 8, -1), topLight);
-        this.setBlock(world, pos.offset(2, 8, 1), topLight);
-        this.setBlock(world, pos.offset(-1, 8, 2), topLight);
-        this.setBlock(world, pos.offset(1, 8, 2), topLight);
-
-        this.setBlock(world, pos.offset(-1, 9, -1), topLight);
-        this.setBlock(world, pos.offset(-1, 9, 1), topLight);
-        this.setBlock(world, pos.offset(1, 9, -1), topLight);
-        this.setBlock(world, pos.offset(1, 9, 1), topLight);
-
-        this.setBlock(world, pos.above(10), topLight);
-
-        this.setBlock(world, pos.offset(-1, 11, -1), topLight);
-        this.setBlock(world, pos.offset(-1, 11, 1), topLight);
-        this.setBlock(world, pos.offset(1, 11, -1), topLight);
-        this.setBlock(world, pos.offset(1, 11, 1), topLight);
+        return palette(bottomDark, bottomLight, topDark, topLight);
     }
 
-    public void generateRose(WorldGenLevel world, BlockPos pos, int height)
+    private static BlockState[] getRosePalette(RandomSource random)
     {
-        int flowerColor = world.getRandom().nextInt(7);
+        int flowerColor = random.nextInt(7);
         BlockState bottomDark;
         BlockState bottomLight;
         BlockState topDark;
@@ -618,184 +777,12 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
                 break;
         }
 
-        pos = pos.above(height);
-
-        this.setBlock(world, pos, bottomDark);
-
-        this.setBlock(world, pos.offset(-1, 0, -1), bottomDark);
-        this.setBlock(world, pos.offset(-1, 0, 1), bottomDark);
-        this.setBlock(world, pos.offset(1, 0, -1), bottomDark);
-        this.setBlock(world, pos.offset(1, 0, 1), bottomDark);
-
-        this.setBlock(world, pos.offset(-1, 0, 0), bottomLight);
-        this.setBlock(world, pos.offset(1, 0, 0), bottomLight);
-        this.setBlock(world, pos.offset(0, 0, -1), bottomLight);
-        this.setBlock(world, pos.offset(0, 0, 1), bottomLight);
-
-        this.setBlock(world, pos.offset(-2, 1, 1), bottomLight);
-        this.setBlock(world, pos.offset(-2, 1, -1), bottomLight);
-        this.setBlock(world, pos.offset(2, 1, 1), bottomLight);
-        this.setBlock(world, pos.offset(2, 1, -1), bottomLight);
-        this.setBlock(world, pos.offset(1, 1, -2), bottomLight);
-        this.setBlock(world, pos.offset(-1, 1, -2), bottomLight);
-        this.setBlock(world, pos.offset(1, 1, 2), bottomLight);
-        this.setBlock(world, pos.offset(-1, 1, 2), bottomLight);
-
-        this.setBlock(world, pos.offset(-1, 1, 0), topDark);
-        this.setBlock(world, pos.offset(1, 1, 0), topDark);
-        this.setBlock(world, pos.offset(0, 1, -1), topDark);
-        this.setBlock(world, pos.offset(0, 1, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 1, -1), topDark);
-        this.setBlock(world, pos.offset(-1, 1, 1), topDark);
-        this.setBlock(world, pos.offset(1, 1, -1), topDark);
-        this.setBlock(world, pos.offset(1, 1, 1), topDark);
-        this.setBlock(world, pos.offset(-2, 1, 0), topDark);
-        this.setBlock(world, pos.offset(2, 1, 0), topDark);
-        this.setBlock(world, pos.offset(0, 1, -2), topDark);
-        this.setBlock(world, pos.offset(0, 1, 2), topDark);
-
-        this.setBlock(world, pos.offset(-2, 2, -2), topDark);
-        this.setBlock(world, pos.offset(-2, 2, 2), topDark);
-        this.setBlock(world, pos.offset(2, 2, -2), topDark);
-        this.setBlock(world, pos.offset(2, 2, 2), topDark);
-
-        this.setBlock(world, pos.offset(-1, 2, 0), topDark);
-        this.setBlock(world, pos.offset(1, 2, 0), topDark);
-        this.setBlock(world, pos.offset(0, 2, -1), topDark);
-        this.setBlock(world, pos.offset(0, 2, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 2, -1), topDark);
-        this.setBlock(world, pos.offset(-1, 2, 1), topDark);
-        this.setBlock(world, pos.offset(1, 2, -1), topDark);
-        this.setBlock(world, pos.offset(1, 2, 1), topDark);
-
-        this.setBlock(world, pos.offset(-3, 2, -1), topDark);
-        this.setBlock(world, pos.offset(-3, 2, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 2, -3), topDark);
-        this.setBlock(world, pos.offset(1, 2, -3), topDark);
-        this.setBlock(world, pos.offset(3, 2, -1), topDark);
-        this.setBlock(world, pos.offset(3, 2, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 2, 3), topDark);
-        this.setBlock(world, pos.offset(1, 2, 3), topDark);
-        this.setBlock(world, pos.offset(-2, 2, -1), topDark);
-        this.setBlock(world, pos.offset(-2, 2, 0), topDark);
-        this.setBlock(world, pos.offset(-2, 2, 1), topDark);
-        this.setBlock(world, pos.offset(2, 2, -1), topDark);
-        this.setBlock(world, pos.offset(2, 2, 0), topDark);
-        this.setBlock(world, pos.offset(2, 2, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 2, -2), topDark);
-        this.setBlock(world, pos.offset(0, 2, -2), topDark);
-        this.setBlock(world, pos.offset(1, 2, -2), topDark);
-        this.setBlock(world, pos.offset(-1, 2, 2), topDark);
-        this.setBlock(world, pos.offset(0, 2, 2), topDark);
-        this.setBlock(world, pos.offset(1, 2, 2), topDark);
-
-        this.setBlock(world, pos.offset(-3, 3, -2), topDark);
-        this.setBlock(world, pos.offset(-3, 3, 2), topDark);
-        this.setBlock(world, pos.offset(-2, 3, -3), topDark);
-        this.setBlock(world, pos.offset(2, 3, -3), topDark);
-        this.setBlock(world, pos.offset(3, 3, -2), topDark);
-        this.setBlock(world, pos.offset(3, 3, 2), topDark);
-        this.setBlock(world, pos.offset(-2, 3, 3), topDark);
-        this.setBlock(world, pos.offset(2, 3, 3), topDark);
-        this.setBlock(world, pos.offset(-3, 4, -2), topDark);
-        this.setBlock(world, pos.offset(-3, 4, 2), topDark);
-        this.setBlock(world, pos.offset(-2, 4, -3), topDark);
-        this.setBlock(world, pos.offset(2, 4, -3), topDark);
-        this.setBlock(world, pos.offset(3, 4, -2), topDark);
-        this.setBlock(world, pos.offset(3, 4, 2), topDark);
-        this.setBlock(world, pos.offset(-2, 4, 3), topDark);
-        this.setBlock(world, pos.offset(2, 4, 3), topDark);
-
-        this.setBlock(world, pos.offset(-1, 3, -1), topDark);
-        this.setBlock(world, pos.offset(-1, 3, 1), topDark);
-        this.setBlock(world, pos.offset(1, 3, -1), topDark);
-        this.setBlock(world, pos.offset(1, 3, 1), topDark);
-
-        this.setBlock(world, pos.offset(-3, 3, -1), topDark);
-        this.setBlock(world, pos.offset(-3, 3, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 3, -3), topDark);
-        this.setBlock(world, pos.offset(1, 3, -3), topDark);
-        this.setBlock(world, pos.offset(3, 3, -1), topDark);
-        this.setBlock(world, pos.offset(3, 3, 1), topDark);
-        this.setBlock(world, pos.offset(-1, 3, 3), topDark);
-        this.setBlock(world, pos.offset(1, 3, 3), topDark);
-
-        this.setBlock(world, pos.offset(-2, 3, -1), topLight);
-        this.setBlock(world, pos.offset(-2, 3, 0), topLight);
-        this.setBlock(world, pos.offset(-2, 3, 1), topLight);
-        this.setBlock(world, pos.offset(2, 3, -1), topLight);
-        this.setBlock(world, pos.offset(2, 3, 0), topLight);
-        this.setBlock(world, pos.offset(2, 3, 1), topLight);
-        this.setBlock(world, pos.offset(-1, 3, -2), topLight);
-        this.setBlock(world, pos.offset(0, 3, -2), topLight);
-        this.setBlock(world, pos.offset(1, 3, -2), topLight);
-        this.setBlock(world, pos.offset(-1, 3, 2), topLight);
-        this.setBlock(world, pos.offset(0, 3, 2), topLight);
-        this.setBlock(world, pos.offset(1, 3, 2), topLight);
-
-        this.setBlock(world, pos.offset(-2, 4, -1), topLight);
-        this.setBlock(world, pos.offset(-2, 4, 0), topLight);
-        this.setBlock(world, pos.offset(-2, 4, 1), topLight);
-        this.setBlock(world, pos.offset(2, 4, -1), topLight);
-        this.setBlock(world, pos.offset(2, 4, 0), topLight);
-        this.setBlock(world, pos.offset(2, 4, 1), topLight);
-        this.setBlock(world, pos.offset(-1, 4, -2), topLight);
-        this.setBlock(world, pos.offset(0, 4, -2), topLight);
-        this.setBlock(world, pos.offset(1, 4, -2), topLight);
-        this.setBlock(world, pos.offset(-1, 4, 2), topLight);
-        this.setBlock(world, pos.offset(0, 4, 2), topLight);
-        this.setBlock(world, pos.offset(1, 4, 2), topLight);
-
-        this.setBlock(world, pos.offset(-2, 5, 0), topDark);
-        this.setBlock(world, pos.offset(2, 5, 0), topDark);
-        this.setBlock(world, pos.offset(0, 5, -2), topDark);
-        this.setBlock(world, pos.offset(0, 5, 2), topDark);
-
-        if (world.getRandom().nextInt(2) == 0)
-        {
-            this.setBlock(world, pos.offset(-1, -1, 0), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-2, 0, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-2, 0, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-2, 0, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-3, 0, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-3, 0, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-3, 0, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-4, -1, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-            this.setBlock(world, pos.offset(1, -1, 0), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(2, 0, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(2, 0, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(2, 0, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(3, 0, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(3, 0, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(3, 0, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(4, -1, 0), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        }
-        else
-        {
-            this.setBlock(world, pos.offset(0, -1, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(0, 0, -2), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-1, 0, -2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(1, 0, -2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(0, 0, -3), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-1, 0, -3), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(1, 0, -3), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(0, -1, -4), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-            this.setBlock(world, pos.offset(0, -1, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(0, 0, 2), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-1, 0, 2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(1, 0, 2), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(0, 0, 3), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(-1, 0, 3), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(1, 0, 3), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-            this.setBlock(world, pos.offset(0, -1, 4), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        }
+        return palette(bottomDark, bottomLight, topDark, topLight);
     }
 
-    public void generateDaffodil(WorldGenLevel world, BlockPos pos, int height)
+    private static BlockState[] getDaffodilPalette(RandomSource random)
     {
-        int flowerColor = world.getRandom().nextInt(7);
+        int flowerColor = random.nextInt(7);
         BlockState innerDark;
         BlockState innerMid;
         BlockState innerLight;
@@ -825,134 +812,27 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
                 break;
         }
 
-        pos = pos.above(height);
-
-        this.setBlock(world, pos, innerDark);
-
-        this.setBlock(world, pos.offset(-1, 0, -1), innerLight);
-        this.setBlock(world, pos.offset(-1, 0, 1), innerLight);
-        this.setBlock(world, pos.offset(1, 0, -1), innerLight);
-        this.setBlock(world, pos.offset(1, 0, 1), innerLight);
-
-        this.setBlock(world, pos.offset(-2, 0, 0), innerLight);
-        this.setBlock(world, pos.offset(2, 0, 0), innerLight);
-
-        this.setBlock(world, pos.offset(-1, 0, 0), outerColor);
-        this.setBlock(world, pos.offset(1, 0, 0), outerColor);
-
-        this.setBlock(world, pos.offset(0, 0, -1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, 0, 1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, 0, -2), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, 0, 2), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -1, -1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.offset(0, -1, 1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.offset(-1, 1, -2), innerLight);
-        this.setBlock(world, pos.offset(1, 1, -2), innerLight);
-        this.setBlock(world, pos.offset(-1, 1, 2), innerLight);
-        this.setBlock(world, pos.offset(1, 1, 2), innerLight);
-
-        this.setBlock(world, pos.offset(-2, 1, -2), outerColor);
-        this.setBlock(world, pos.offset(-2, 1, 2), outerColor);
-        this.setBlock(world, pos.offset(2, 1, -2), outerColor);
-        this.setBlock(world, pos.offset(2, 1, 2), outerColor);
-        this.setBlock(world, pos.offset(-1, 1, -3), outerColor);
-        this.setBlock(world, pos.offset(1, 1, -3), outerColor);
-        this.setBlock(world, pos.offset(-1, 1, 3), outerColor);
-        this.setBlock(world, pos.offset(1, 1, 3), outerColor);
-        this.setBlock(world, pos.offset(-2, 1, -3), outerColor);
-        this.setBlock(world, pos.offset(2, 1, -3), outerColor);
-        this.setBlock(world, pos.offset(-2, 1, 3), outerColor);
-        this.setBlock(world, pos.offset(2, 1, 3), outerColor);
-
-        this.setBlock(world, pos.offset(-2, 0, -1), outerColor);
-        this.setBlock(world, pos.offset(-2, 0, 1), outerColor);
-        this.setBlock(world, pos.offset(-3, 0, 0), outerColor);
-
-        this.setBlock(world, pos.offset(2, 0, -1), outerColor);
-        this.setBlock(world, pos.offset(2, 0, 1), outerColor);
-        this.setBlock(world, pos.offset(3, 0, 0), outerColor);
-
-        this.setBlock(world, pos.offset(-1, 1, 0), innerDark);
-        this.setBlock(world, pos.offset(1, 1, 0), innerDark);
-        this.setBlock(world, pos.offset(0, 1, -1), innerDark);
-        this.setBlock(world, pos.offset(0, 1, 1), innerDark);
-
-        this.setBlock(world, pos.offset(-1, 2, 0), innerMid);
-        this.setBlock(world, pos.offset(1, 2, 0), innerMid);
-        this.setBlock(world, pos.offset(0, 2, -1), innerMid);
-        this.setBlock(world, pos.offset(0, 2, 1), innerMid);
-
-        this.setBlock(world, pos.offset(-1, 3, -1), innerMid);
-        this.setBlock(world, pos.offset(-1, 3, 1), innerMid);
-        this.setBlock(world, pos.offset(1, 3, -1), innerMid);
-        this.setBlock(world, pos.offset(1, 3, 1), innerMid);
-
-        this.setBlock(world, pos.offset(0, 1, 0), innerMid);
-        this.setBlock(world, pos.offset(0, 2, 0), innerLight);
-        this.setBlock(world, pos.offset(0, 3, 0), innerLight);
-        this.setBlock(world, pos.offset(0, 4, 0), outerColor);
-
-        this.setBlock(world, pos.offset(-2, 3, 0), innerLight);
-        this.setBlock(world, pos.offset(2, 3, 0), innerLight);
-        this.setBlock(world, pos.offset(0, 3, -2), innerLight);
-        this.setBlock(world, pos.offset(0, 3, 2), innerLight);
-
-        this.setBlock(world, pos.offset(-2, 4, -1), innerLight);
-        this.setBlock(world, pos.offset(-2, 4, 0), innerLight);
-        this.setBlock(world, pos.offset(-2, 4, 1), innerLight);
-        this.setBlock(world, pos.offset(2, 4, -1), innerLight);
-        this.setBlock(world, pos.offset(2, 4, 0), innerLight);
-        this.setBlock(world, pos.offset(2, 4, 1), innerLight);
-        this.setBlock(world, pos.offset(-1, 4, -2), innerLight);
-        this.setBlock(world, pos.offset(0, 4, -2), innerLight);
-        this.setBlock(world, pos.offset(1, 4, -2), innerLight);
-        this.setBlock(world, pos.offset(-1, 4, 2), innerLight);
-        this.setBlock(world, pos.offset(0, 4, 2), innerLight);
-        this.setBlock(world, pos.offset(1, 4, 2), innerLight);
-
-        this.setBlock(world, pos.offset(-2, 5, -1), innerLight);
-        this.setBlock(world, pos.offset(-2, 5, 0), innerLight);
-        this.setBlock(world, pos.offset(-2, 5, 1), innerLight);
-        this.setBlock(world, pos.offset(2, 5, -1), innerLight);
-        this.setBlock(world, pos.offset(2, 5, 0), innerLight);
-        this.setBlock(world, pos.offset(2, 5, 1), innerLight);
-        this.setBlock(world, pos.offset(-1, 5, -2), innerLight);
-        this.setBlock(world, pos.offset(0, 5, -2), innerLight);
-        this.setBlock(world, pos.offset(1, 5, -2), innerLight);
-        this.setBlock(world, pos.offset(-1, 5, 2), innerLight);
-        this.setBlock(world, pos.offset(0, 5, 2), innerLight);
-        this.setBlock(world, pos.offset(1, 5, 2), innerLight);
-
-        this.setBlock(world, pos.offset(-2, 6, -1), innerLight);
-        this.setBlock(world, pos.offset(-2, 6, 1), innerLight);
-        this.setBlock(world, pos.offset(2, 6, -1), innerLight);
-        this.setBlock(world, pos.offset(2, 6, 1), innerLight);
-        this.setBlock(world, pos.offset(-1, 6, -2), innerLight);
-        this.setBlock(world, pos.offset(1, 6, -2), innerLight);
-        this.setBlock(world, pos.offset(-1, 6, 2), innerLight);
-        this.setBlock(world, pos.offset(1, 6, 2), innerLight);
+        return palette(innerDark, innerLight, innerMid, outerColor);
+    }
+
+    // Slots 0 and 1 are always the green and lime petals, followed by the colours of the flower head
+    private static BlockState[] palette(BlockState... colors)
+    {
+        BlockState[] palette = new BlockState[colors.length + 2];
+        palette[0] = BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState();
+        palette[1] = BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState();
+        System.arraycopy(colors, 0, palette, 2, colors.length);
+        return palette;
     }
 
-        public void generateSmallLeaf(WorldGenLevel world, BlockPos pos, Direction direction)
+    public void generateSmallLeaf(WorldGenLevel world, BlockPos pos, Direction direction)
     {
-        this.setBlock(world, pos.relative(direction, 1), BOPBlocks.FLOWER_STEM.defaultBlockState().setValue(RotatedPillarBlock.AXIS, direction.getAxis()));
-        this.setBlock(world, pos.relative(direction, 1).above(1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.relative(direction, 2).above(1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
+        SMALL_LEAVES[direction.get2DDataValue()].place(world, pos, palette(BOPBlocks.FLOWER_STEM.defaultBlockState().setValue(RotatedPillarBlock.AXIS, direction.getAxis())), this.replace);
     }
 
     public void generateLargeLeaf(WorldGenLevel world, BlockPos pos, Direction direction)
     {
-        this.setBlock(world, pos.relative(direction, 1), BOPBlocks.FLOWER_STEM.defaultBlockState().setValue(RotatedPillarBlock.AXIS, direction.getAxis()));
-        this.setBlock(world, pos.relative(direction, 1).above(1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.relative(direction, 2).above(1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.relative(direction, 3).above(1), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
-
-        this.setBlock(world, pos.relative(direction, 2).relative(direction.getClockWise(), 1).above(1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.relative(direction, 2).relative(direction.getCounterClockWise(), 1).above(1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.relative(direction, 3).relative(direction.getClockWise(), 1).above(1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.relative(direction, 3).relative(direction.getCounterClockWise(), 1).above(1), BOPBlocks.GREEN_FLOWER_PETAL_BLOCK.defaultBlockState());
-        this.setBlock(world, pos.relative(direction, 4), BOPBlocks.LIME_FLOWER_PETAL_BLOCK.defaultBlockState());
+        LARGE_LEAVES[direction.get2DDataValue()].place(world, pos, palette(BOPBlocks.FLOWER_STEM.defaultBlockState().setValue(RotatedPillarBlock.AXIS, direction.getAxis())), this.replace);
     }
 
     public boolean setBlock(WorldGenLevel world, BlockPos pos, BlockState state)
@@ -965,31 +845,23 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
         return false;
     }
 
-    public boolean checkSpace(WorldGenLevel world, BlockPos pos, int height)
+    public boolean checkSpace(WorldGenLevel world, BlockPos pos, int height, BlockTemplate head)
     {
-        for (int y = 0; y <= height; y++)
+        if (!FeatureBounds.fitsHeight(world, pos.getY(), pos.getY() + height + head.getMaxY()))
         {
-            for (int x = -1; x <= 1; x++)
-            {
-                for (int z = -1; z <= 1; z++)
-                {
-                    BlockPos pos1 = pos.offset(x, y, z);
-                    if (pos1.getY() >= 255 || !this.replace.matches(world, pos1))
-                    {
-                        return false;
-                    }
-                }
-            }
+            return false;
         }
 
-        for (int y = (height-1); y <= (height+10); y++)
+        BlockPos.MutableBlockPos pos1 = new BlockPos.MutableBlockPos();
+
+        for (int y = 0; y <= height; y++)
         {
-            for (int x = -3; x <= 3; x++)
+            for (int x = -1; x <= 1; x++)
             {
-                for (int z = -3; z <= 3; z++)
+                for (int z = -1; z <= 1; z++)
                 {
-                    BlockPos pos1 = pos.offset(x, y, z);
-                    if (pos1.getY() >= 255 || !this.replace.matches(world, pos1))
+                    pos1.setWithOffset(pos, x, y, z);
+                    if (!this.replace.matches(world, pos1))
                     {
                         return false;
                     }
@@ -997,6 +869,7 @@ public class HugeFlowerFeature extends Feature<NoneFeatureConfiguration>
             }
         }
 
-        return true;
+        // Only the blocks the head will actually occupy need to be free
+        return head.isFree(world, pos.above(height), this.replace);
     }
 }
@@ -6,8 +6,11 @@ package biomesoplenty.worldgen.feature.misc;
 
 import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.DiskMask;
+import biomesoplenty.util.worldgen.GroundFinder;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
+import net.minecraft.tags.BlockTags;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.Blocks;
@@ -17,13 +20,12 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 
 public class HugeGlowshroomFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).getBlock() == Blocks.GRASS_BLOCK || world.getBlockState(pos).getBlock() == Blocks.MYCELIUM || world.getBlockState(pos).getBlock() == Blocks.STONE || world.getBlockState(pos).getBlock() == Blocks.DEEPSLATE || world.getBlockState(pos).getBlock() == BOPBlocks.GLOWING_MOSS_BLOCK || world.getBlockState(pos).getBlock() == Blocks.MUD;
-    protected SimpleBlockPredicate replace = (world, pos) -> TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).getBlock() instanceof VegetationBlock || world.getBlockState(pos).getBlock() == BOPBlocks.GLOWING_MOSS_CARPET || world.getBlockState(pos).getBlock() == Blocks.MOSS_CARPET;
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.getBlock() == Blocks.GRASS_BLOCK || state.getBlock() == Blocks.MYCELIUM || state.getBlock() == Blocks.STONE || state.getBlock() == Blocks.DEEPSLATE || state.getBlock() == BOPBlocks.GLOWING_MOSS_BLOCK || state.getBlock() == Blocks.MUD);
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.getBlock() instanceof VegetationBlock || state.getBlock() == BOPBlocks.GLOWING_MOSS_CARPET || state.getBlock() == Blocks.MOSS_CARPET);
 
     public HugeGlowshroomFeature(Codec<NoneFeatureConfiguration> deserializer)
     {
@@ -38,9 +40,7 @@ public class HugeGlowshroomFeature extends Feature<NoneFeatureConfiguration>
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {
-            startPos = startPos.below();
-        }
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         if (!this.placeOn.matches(world, startPos.offset(0, 0, 0))) {
             // Abandon if we can't place the tree on this block
@@ -61,46 +61,30 @@ public class HugeGlowshroomFeature extends Feature<NoneFeatureConfiguration>
             this.setBlock(world, pos.above(y), Blocks.MUSHROOM_STEM.defaultBlockState());
         }
 
-        for (int x = -(radius-1); x <= (radius-1); x++)
+        BlockPos.MutableBlockPos capPos = new BlockPos.MutableBlockPos();
+        BlockState capTop = BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false);
+        DiskMask top = DiskMask.square(radius - 1);
+
+        for (int i = 0; i < top.size(); i++)
         {
-            for (int z = -(radius-1); z <= (radius-1); z++)
-            {
-                this.setBlock(world, pos.offset(x, height, z), BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false));
-            }
+            this.setBlock(world, capPos.setWithOffset(pos, top.getX(i), height, top.getZ(i)), capTop);
         }
 
-        for (int x = -radius; x <= radius; x++)
+        BlockState capWest = BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.WEST, false);
+        BlockState capEast = BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.EAST, false);
+        BlockState capNorth = BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.NORTH, false);
+        BlockState capSouth = BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.SOUTH, false);
+        DiskMask sides = DiskMask.ring(radius);
+
+        for (int i = 0; i < sides.size(); i++)
         {
-            for (int z = -radius; z <= radius; z++)
-            {
-                if ((x == -radius || x == radius) && (z == -radius || z == radius))
-                {
-                    continue;
-                }
-                else
-                {
-                    if (x == radius)
-                    {
-                        this.setBlock(world, pos.offset(x, height - 1, z), BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.WEST, false));
-                        this.setBlock(world, pos.offset(x, height - 2, z), BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.WEST, false));
-                    }
-                    if (x == -radius)
-                    {
-                        this.setBlock(world, pos.offset(x, height - 1, z), BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.EAST, false));
-                        this.setBlock(world, pos.offset(x, height - 2, z), BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.EAST, false));
-                    }
-                    if (z == radius)
-                    {
-                        this.setBlock(world, pos.offset(x, height - 1, z), BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.NORTH, false));
-                        this.setBlock(world, pos.offset(x, height - 2, z), BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.NORTH, false));
-                    }
-                    if (z == -radius)
-                    {
-                        this.setBlock(world, pos.offset(x, height - 1, z), BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.SOUTH, false));
-                        this.setBlock(world, pos.offset(x, height - 2, z), BOPBlocks.GLOWSHROOM_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.SOUTH, false));
-                    }
-                }
-            }
+            int x = sides.getX(i);
+            int z = sides.getZ(i);
+
+            // The ring excludes the corners, so each cell lies on exactly one side
+            BlockState side = x == radius ? capWest : (x == -radius ? capEast : (z == radius ? capNorth : capSouth));
+            this.setBlock(world, capPos.setWithOffset(pos, x, height - 1, z), side);
+            this.setBlock(world, capPos.setWithOffset(pos, x, height - 2, z), side);
         }
 
         return true;
@@ -125,7 +109,7 @@ public class HugeGlowshroomFeature extends Feature<NoneFeatureConfiguration>
                 for (int z = -2; z <= 2; z++)
                 {
                     BlockPos pos1 = pos.offset(x, y, z);
-                    if (pos1.getY() >= 255 || !this.replace.matches(world, pos1))
+                    if (world.isOutsideBuildHeight(pos1) || !this.replace.matches(world, pos1))
                     {
                         return false;
                     }
@@ -8,9 +8,11 @@ import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.block.HugeLilyPadBlock;
 import biomesoplenty.block.properties.QuarterProperty;
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.GroundFinder;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.tags.BlockTags;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.HorizontalDirectionalBlock;
@@ -19,14 +21,13 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 import net.minecraft.world.level.material.Fluids;
 
 public class HugeLilyPadFeature extends Feature<NoneFeatureConfiguration>
 {
     protected SimpleBlockPredicate placeOn = (world, pos) -> (world.getBlockState(pos).getFluidState().getType() == Fluids.WATER || world.getBlockState(pos).getBlock() instanceof IceBlock) && world.getBlockState(pos.above()).getFluidState().getType() == Fluids.EMPTY;
-    protected SimpleBlockPredicate replace = (world, pos) -> TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).getBlock() == BOPBlocks.WATERGRASS;
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.getBlock() == BOPBlocks.WATERGRASS);
 
     public HugeLilyPadFeature(Codec<NoneFeatureConfiguration> deserializer)
     {
@@ -42,7 +43,7 @@ public class HugeLilyPadFeature extends Feature<NoneFeatureConfiguration>
         BlockPos startPos = featurePlaceContext.origin();
         Direction direction = Direction.Plane.HORIZONTAL.getRandomDirection(rand);
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {startPos = startPos.below();}
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         if (!this.placeOn.matches(world, startPos))
         {
@@ -83,10 +84,10 @@ public class HugeLilyPadFeature extends Feature<NoneFeatureConfiguration>
         BlockPos pos2 = pos.relative(direction);
         BlockPos pos3 = pos2.relative(direction.getClockWise());
         BlockPos pos4 = pos.relative(direction.getClockWise());
-        if (pos1.getY() >= 255 || !this.replace.matches(world, pos1) || !this.placeOn.matches(world, pos1.below()) ||
-            pos2.getY() >= 255 || !this.replace.matches(world, pos2) || !this.placeOn.matches(world, pos2.below()) ||
-            pos3.getY() >= 255 || !this.replace.matches(world, pos3) || !this.placeOn.matches(world, pos3.below()) ||
-            pos4.getY() >= 255 || !this.replace.matches(world, pos4) || !this.placeOn.matches(world, pos4.below()))
+        if (world.isOutsideBuildHeight(pos1) || !this.replace.matches(world, pos1) || !this.placeOn.matches(world, pos1.below()) ||
+            world.isOutsideBuildHeight(pos2) || !this.replace.matches(world, pos2) || !this.placeOn.matches(world, pos2.below()) ||
+            world.isOutsideBuildHeight(pos3) || !this.replace.matches(world, pos3) || !this.placeOn.matches(world, pos3.below()) ||
+            world.isOutsideBuildHeight(pos4) || !this.replace.matches(world, pos4) || !this.placeOn.matches(world, pos4.below()))
         {
             return false;
         }
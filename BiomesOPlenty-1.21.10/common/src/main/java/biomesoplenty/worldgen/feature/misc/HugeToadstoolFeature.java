@@ -6,8 +6,11 @@ package biomesoplenty.worldgen.feature.misc;
 
 import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.DiskMask;
+import biomesoplenty.util.worldgen.GroundFinder;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
+import net.minecraft.tags.BlockTags;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.Blocks;
@@ -17,13 +20,12 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
-import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 
 public class HugeToadstoolFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).getBlock() == Blocks.GRASS_BLOCK || world.getBlockState(pos).getBlock() == Blocks.MYCELIUM;
-    protected SimpleBlockPredicate replace = (world, pos) -> TreeFeature.isAirOrLeaves(world, pos) || world.getBlockState(pos).getBlock() instanceof VegetationBlock;
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.getBlock() == Blocks.GRASS_BLOCK || state.getBlock() == Blocks.MYCELIUM);
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir() || state.is(BlockTags.LEAVES) || state.getBlock() instanceof VegetationBlock);
 
     public HugeToadstoolFeature(Codec<NoneFeatureConfiguration> deserializer)
     {
@@ -38,9 +40,7 @@ public class HugeToadstoolFeature extends Feature<NoneFeatureConfiguration>
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {
-            startPos = startPos.below();
-        }
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         if (!this.placeOn.matches(world, startPos.offset(0, 0, 0))) {
             // Abandon if we can't place the tree on this block
@@ -61,21 +61,22 @@ public class HugeToadstoolFeature extends Feature<NoneFeatureConfiguration>
             this.setBlock(world, pos.above(y), Blocks.MUSHROOM_STEM.defaultBlockState());
         }
 
-        for (int x = -(radius-1); x <= (radius-1); x++)
+        BlockPos.MutableBlockPos capPos = new BlockPos.MutableBlockPos();
+        BlockState cap = BOPBlocks.TOADSTOOL_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false);
+        DiskMask body = DiskMask.square(radius - 1);
+
+        for (int i = 0; i < body.size(); i++)
         {
-            for (int z = -(radius-1); z <= (radius-1); z++)
-            {
-                this.setBlock(world, pos.offset(x, height, z), BOPBlocks.TOADSTOOL_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false));
-                this.setBlock(world, pos.offset(x, height+1, z), BOPBlocks.TOADSTOOL_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false));
-                this.setBlock(world, pos.offset(x, height+2, z), BOPBlocks.TOADSTOOL_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false));
-            }
+            this.setBlock(world, capPos.setWithOffset(pos, body.getX(i), height, body.getZ(i)), cap);
+            this.setBlock(world, capPos.setWithOffset(pos, body.getX(i), height+1, body.getZ(i)), cap);
+            this.setBlock(world, capPos.setWithOffset(pos, body.getX(i), height+2, body.getZ(i)), cap);
         }
 
-        this.setBlock(world, pos.offset(0, height+3, 0), BOPBlocks.TOADSTOOL_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false));
-        this.setBlock(world, pos.offset(1, height+3, 0), BOPBlocks.TOADSTOOL_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false));
-        this.setBlock(world, pos.offset(-1, height+3, 0), BOPBlocks.TOADSTOOL_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false));
-        this.setBlock(world, pos.offset(0, height+3, 1), BOPBlocks.TOADSTOOL_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false));
-        this.setBlock(world, pos.offset(0, height+3, -1), BOPBlocks.TOADSTOOL_BLOCK.defaultBlockState().setValue(HugeMushroomBlock.DOWN, false));
+        this.setBlock(world, pos.offset(0, height+3, 0), cap);
+        this.setBlock(world, pos.offset(1, height+3, 0), cap);
+        this.setBlock(world, pos.offset(-1, height+3, 0), cap);
+        this.setBlock(world, pos.offset(0, height+3, 1), cap);
+        this.setBlock(world, pos.offset(0, height+3, -1), cap);
 
         return true;
     }
@@ -99,7 +100,7 @@ public class HugeToadstoolFeature extends Feature<NoneFeatureConfiguration>
                 for (int z = -2; z <= 2; z++)
                 {
                     BlockPos pos1 = pos.offset(x, y, z);
-                    if (pos1.getY() >= 255 || !this.replace.matches(world, pos1))
+                    if (world.isOutsideBuildHeight(pos1) || !this.replace.matches(world, pos1))
                     {
                         return false;
                     }
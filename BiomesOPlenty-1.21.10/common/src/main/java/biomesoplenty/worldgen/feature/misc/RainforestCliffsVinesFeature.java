@@ -5,6 +5,7 @@
 package biomesoplenty.worldgen.feature.misc;
 
 import biomesoplenty.util.SimpleBlockPredicate;
+import biomesoplenty.util.worldgen.GroundFinder;
 import com.google.common.collect.Lists;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
@@ -25,8 +26,8 @@ import java.util.List;
 
 public class RainforestCliffsVinesFeature extends Feature<NoneFeatureConfiguration>
 {
-    protected SimpleBlockPredicate placeOn = (world, pos) -> world.getBlockState(pos).getBlock() == Blocks.DIRT || world.getBlockState(pos).getBlock() == Blocks.GRASS_BLOCK || world.getBlockState(pos).getBlock() == Blocks.STONE || world.getBlockState(pos).getBlock() == Blocks.TERRACOTTA || world.getBlockState(pos).getBlock() == Blocks.ANDESITE || world.getBlockState(pos).getBlock() == Blocks.GRANITE || world.getBlockState(pos).getBlock() == Blocks.DIORITE;
-    protected SimpleBlockPredicate replace = (world, pos) -> this.isAir(world, pos);
+    protected SimpleBlockPredicate placeOn = SimpleBlockPredicate.ofState(state -> state.getBlock() == Blocks.DIRT || state.getBlock() == Blocks.GRASS_BLOCK || state.getBlock() == Blocks.STONE || state.getBlock() == Blocks.TERRACOTTA || state.getBlock() == Blocks.ANDESITE || state.getBlock() == Blocks.GRANITE || state.getBlock() == Blocks.DIORITE);
+    protected SimpleBlockPredicate replace = SimpleBlockPredicate.ofState(state -> state.isAir());
     int minHeight = 7;
     int maxHeight = 14;
 
@@ -43,7 +44,7 @@ public class RainforestCliffsVinesFeature extends Feature<NoneFeatureConfigurati
         RandomSource rand = featurePlaceContext.random();
         BlockPos startPos = featurePlaceContext.origin();
         NoneFeatureConfiguration config = featurePlaceContext.config();
-        while (startPos.getY() >= world.getMinY()+1 && this.replace.matches(world, startPos)) {startPos = startPos.below();}
+        startPos = GroundFinder.moveDownWhile(world, startPos, this.replace);
 
         if (!this.placeOn.matches(world, startPos.offset(2, 0, 2)))
         {
@@ -5,10 +5,13 @@
 package biomesoplenty.worldgen.feature.tree;
 
 import biomesoplenty.api.block.BOPBlocks;
+import biomesoplenty.util.worldgen.BlockStateTable;
+import biomesoplenty.util.worldgen.TreePlan;
 import biomesoplenty.worldgen.feature.configurations.BOPTreeConfiguration;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.LevelAccessor;
@@ -16,6 +19,8 @@ import net.minecraft.world.level.LevelSimulatedReader;
 import net.minecraft.world.level.block.*;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.Property;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.levelgen.feature.TreeFeature;
 import net.minecraft.world.level.levelgen.feature.foliageplacers.FoliagePlacer;
 
@@ -24,6 +29,11 @@ import java.util.function.BiConsumer;
 
 public abstract class BOPTreeFeature<FC extends BOPTreeConfiguration> extends TreeFeature
 {
+    private static final BlockStateTable REPLACEABLE = BlockStateTable.create(state -> {
+        Block block = state.getBlock();
+        return state.isAir() || state.is(BlockTags.LEAVES) || state.is(BlockTags.REPLACEABLE_BY_TREES) || state.is(BlockTags.SAPLINGS) || block == Blocks.VINE || block == BOPBlocks.WILLOW_VINE || block == BOPBlocks.DEAD_BRANCH || block == Blocks.MOSS_CARPET || block == BOPBlocks.SPANISH_MOSS || block instanceof VegetationBlock;
+    });
+
     protected BOPTreeFeature(Codec<FC> codec)
     {
         super((Codec)codec);
@@ -113,10 +123,113 @@ public abstract class BOPTreeFeature<FC extends BOPTreeConfiguration> extends Tr
 
     protected boolean canReplace(LevelAccessor level, BlockPos pos)
     {
-        return TreeFeature.isAirOrLeaves(level, pos) || level.isStateAtPosition(pos, (state) -> {
-            Block block = state.getBlock();
-            return state.is(BlockTags.REPLACEABLE_BY_TREES) || state.is(BlockTags.SAPLINGS) || block == Blocks.VINE || block == BOPBlocks.WILLOW_VINE || block == BOPBlocks.DEAD_BRANCH || block == Blocks.MOSS_CARPET || block == BOPBlocks.SPANISH_MOSS || block instanceof VegetationBlock;
-        });
+        return this.canReplaceState(level.getBlockState(pos));
+    }
+
+    protected boolean canReplaceState(BlockState state)
+    {
+        return REPLACEABLE.test(state);
+    }
+
+    // Checks every position within the given bounds (inclusive), reading states directly from the chunk sections
+    protected boolean canReplaceArea(LevelAccessor level, int minX, int minY, int minZ, int maxX, int maxY, int maxZ)
+    {
+        boolean airReplaceable = this.canReplaceState(Blocks.AIR.defaultBlockState());
+
+        for (int chunkX = SectionPos.blockToSectionCoord(minX); chunkX <= SectionPos.blockToSectionCoord(maxX); chunkX++)
+        {
+            for (int chunkZ = SectionPos.blockToSectionCoord(minZ); chunkZ <= SectionPos.blockToSectionCoord(maxZ); chunkZ++)
+            {
+                ChunkAccess chunk = level.getChunk(chunkX, chunkZ);
+                int startX = Math.max(minX, SectionPos.sectionToBlockCoord(chunkX));
+                int endX = Math.min(maxX, SectionPos.sectionToBlockCoord(chunkX, 15));
+                int startZ = Math.max(minZ, SectionPos.sectionToBlockCoord(chunkZ));
+                int endZ = Math.min(maxZ, SectionPos.sectionToBlockCoord(chunkZ, 15));
+
+                for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); sectionY++)
+                {
+                    int sectionIndex = chunk.getSectionIndexFromSectionY(sectionY);
+
+                    // Positions outside of the build height read as void air
+                    if (sectionIndex < 0 || sectionIndex >= chunk.getSectionsCount() || chunk.getSection(sectionIndex).hasOnlyAir())
+                    {
+                        if (!airReplaceable) return false;
+                        continue;
+                    }
+
+                    LevelChunkSection section = chunk.getSection(sectionIndex);
+                    int startY = Math.max(minY, SectionPos.sectionToBlockCoord(sectionY));
+                    int endY = Math.min(maxY, SectionPos.sectionToBlockCoord(sectionY, 15));
+
+                    for (int y = startY; y <= endY; y++)
+                    {
+                        for (int z = startZ; z <= endZ; z++)
+                        {
+                            for (int x = startX; x <= endX; x++)
+                            {
+                                if (!this.canReplaceState(section.getBlockState(x & 15, y & 15, z & 15)))
+                                {
+                                    return false;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    // Checks a square layer of the given radius around the center position
+    protected boolean canReplaceLayer(LevelAccessor level, BlockPos center, int y, int radius)
+    {
+        return this.canReplaceArea(level, center.getX() - radius, y, center.getZ() - radius, center.getX() + radius, y, center.getZ() + radius);
+    }
+
+    // Checks all of a plan's clearance boxes before anything is written
+    protected boolean canPlacePlan(LevelAccessor level, BlockPos origin, TreePlan plan)
+    {
+        for (int box = 0; box < plan.clearanceCount(); box++)
+        {
+            if (!this.canReplaceArea(level, origin.getX() + plan.getClearance(box, 0), origin.getY() + plan.getClearance(box, 1), origin.getZ() + plan.getClearance(box, 2), origin.getX() + plan.getClearance(box, 3), origin.getY() + plan.getClearance(box, 4), origin.getZ() + plan.getClearance(box, 5)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Places each entry of a plan in order. Entries which can't replace the block in the world are skipped.
+    protected void placePlan(LevelAccessor level, BlockPos origin, TreePlan plan, BiConsumer<BlockPos, BlockState> logs, FoliagePlacer.FoliageSetter leaves, FC config)
+    {
+        boolean columnPlaced = false;
+
+        for (int i = 0; i < plan.size(); i++)
+        {
+            BlockPos pos = origin.offset(plan.getX(i), plan.getY(i), plan.getZ(i));
+
+            switch (plan.getRole(i))
+            {
+                case TreePlan.LOG -> this.placeLog(level, pos, logs, config);
+                case TreePlan.LOG_X -> this.placeLog(level, pos, Direction.Axis.X, logs, config);
+                case TreePlan.LOG_Z -> this.placeLog(level, pos, Direction.Axis.Z, logs, config);
+                case TreePlan.LEAVES -> this.placeLeaves(level, pos, leaves, config);
+                case TreePlan.ALT_LEAVES -> this.placeAltLeaves(level, pos, leaves, config);
+                case TreePlan.TRUNK -> columnPlaced |= this.placeLog(level, pos, logs, config);
+                case TreePlan.COLUMN -> columnPlaced = false;
+                case TreePlan.ROOT_DIRT -> {
+                    if (columnPlaced)
+                    {
+                        BlockState state = level.getBlockState(pos);
+
+                        if (state.isAir() || state.is(BlockTags.REPLACEABLE_BY_TREES) || isDirt(state))
+                        {
+                            level.setBlock(pos, Blocks.DIRT.defaultBlockState(), 3);
+                        }
+                    }
+                }
+            }
+        }
     }
 
     protected Property getLogAxisProperty(LevelAccessor level, BlockPos pos, FC config)
@@ -6,6 +6,7 @@ package biomesoplenty.worldgen.feature.tree;
 
 import biomesoplenty.api.block.BOPBlocks;
 import biomesoplenty.util.biome.GeneratorUtil;
+import biomesoplenty.util.worldgen.FeatureBounds;
 import biomesoplenty.worldgen.feature.configurations.BayouTreeConfiguration;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
@@ -33,22 +34,12 @@ public class BayouTreeFeature extends BOPTreeFeature<BayouTreeConfiguration>
 
     public boolean checkSpace(LevelAccessor world, BlockPos pos, int baseHeight, int height, BayouTreeConfiguration config)
     {
-        for (int y = 0; y <= height; y++)
-        {
-            int radius = config.trunkWidth - 1;
+        int radius = config.trunkWidth - 1;
 
-            for (int x = -radius; x <= radius; x++)
-            {
-                for (int z = -radius; z <= radius; z++)
-                {
-                    BlockPos pos1 = pos.offset(x, y, z);
-                    // note, there may be a sapling on the first layer - make sure this.replace matches it!
-                    if (pos1.getY() >= 255 || !this.canReplace(world, pos1))
-                    {
-                        return false;
-                    }
-                }
-            }
+        // note, there may be a sapling on the first layer - make sure this.replace matches it!
+        if (!FeatureBounds.fitsHeight(world, pos.getY(), pos.getY() + height) || !this.canReplaceArea(world, pos.getX() - radius, pos.getY(), pos.getZ() - radius, pos.getX() + radius, pos.getY() + height, pos.getZ() + radius))
+        {
+            return false;
         }
 
         BlockPos pos2 = pos.offset(0, height - 2,0);
@@ -310,10 +301,8 @@ public class BayouTreeFeature extends BOPTreeFeature<BayouTreeConfiguration>
     }
 
     @Override
-    protected boolean canReplace(LevelAccessor level, BlockPos pos)
+    protected boolean canReplaceState(BlockState state)
     {
-        return super.canReplace(level, pos) || level.isStateAtPosition(pos, (state) -> {
-            return state.liquid();
-        });
+        return super.canReplaceState(state) || state.liquid();
     }
 }
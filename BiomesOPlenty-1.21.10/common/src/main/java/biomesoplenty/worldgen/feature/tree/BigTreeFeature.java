@@ -4,6 +4,7 @@
  ******************************************************************************/
 package biomesoplenty.worldgen.feature.tree;
 
+import biomesoplenty.util.worldgen.DiskMask;
 import biomesoplenty.worldgen.feature.configurations.BigTreeConfiguration;
 import com.google.common.collect.Lists;
 import com.mojang.serialization.Codec;
@@ -37,61 +38,51 @@ public class BigTreeFeature extends BOPTreeFeature<BigTreeConfiguration>
     // Create a circular cross section.
     //
     // Used to nearly everything in the foliage, branches, and trunk.
-    // This is a good target for performance optimization.
+    // The cells covered by each radius are precomputed by DiskMask.
 
     // Passed values:
     // pos is the center location of the cross section
     // radius is the radius of the section from the center
-    // direction is the direction the cross section is pointed, 0 for x, 1
-    // for y, 2 for z material is the index number for the material to use
     private void crossSection(LevelAccessor world, BlockPos pos, float radius, RandomSource random, FoliagePlacer.FoliageSetter leaves, BigTreeConfiguration config)
     {
-        final int r = (int)((double)radius + trunkHeightScale);
+        DiskMask mask = DiskMask.circle(radius);
+        BlockPos.MutableBlockPos blockpos = new BlockPos.MutableBlockPos();
+        BlockPos.MutableBlockPos hangingPos = new BlockPos.MutableBlockPos();
 
-        for (int dx = -r; dx <= r; dx++)
+        // Mojang sets leaves via the method used for logs. Probably intentional?
+        boolean hasAltFoliage = config.altFoliageProvider.getState(random, pos) != Blocks.AIR.defaultBlockState();
+        boolean hasHanging = config.hangingProvider.getState(random, pos) != Blocks.AIR.defaultBlockState();
+
+        for (int cell = 0; cell < mask.size(); cell++)
         {
-            for (int dz = -r; dz <= r; dz++)
+            blockpos.setWithOffset(pos, mask.getX(cell), 0, mask.getZ(cell));
+
+            if (this.canReplace(world, blockpos))
             {
-                if (Math.pow((double)Math.abs(dx) + 0.5D, 2.0D) + Math.pow((double)Math.abs(dz) + 0.5D, 2.0D) <= (double)(radius * radius))
+                if (hasAltFoliage && random.nextInt(4) == 0)
                 {
-                    BlockPos blockpos = pos.offset(dx, 0, dz);
-                    if (this.canReplace(world, blockpos))
-                    {
-                        // Mojang sets leaves via the method used for logs. Probably intentional?
-                        if (config.altFoliageProvider.getState(random, pos) != Blocks.AIR.defaultBlockState())
-                        {
-                            int rand = random.nextInt(4);
-
-                            if (rand == 0)
-                            {
-                                this.placeAltLeaves(world, blockpos, leaves, config);
-                            }
-                            else
-                            {
-                                this.placeLeaves(world, blockpos,leaves, config);
-                            }
-                        }
-                        else
-                        {
-                            this.placeLeaves(world, blockpos, leaves, config);
-                        }
-                    }
+                    this.placeAltLeaves(world, blockpos, leaves, config);
+                }
+                else
+                {
+                    this.placeLeaves(world, blockpos, leaves, config);
+                }
+            }
 
-                    int hanging_height = random.nextInt(3) + 1;
-                    if (config.hangingProvider.getState(random, pos) != Blocks.AIR.defaultBlockState() && random.nextInt(4) == 0)
+            int hanging_height = random.nextInt(3) + 1;
+            if (hasHanging && random.nextInt(4) == 0)
+            {
+                for (int i = 0; i < hanging_height; i++)
+                {
+                    hangingPos.setWithOffset(blockpos, 0, -i, 0);
+
+                    if (this.canReplace(world, hangingPos))
                     {
-                        for (int i = 0; i < hanging_height; i++)
-                        {
-                            if (this.canReplace(world, blockpos.below(i)))
-                            {
-                                this.setHanging(world, blockpos.below(i), config);
-                            }
-                        }
+                        this.setHanging(world, hangingPos, config);
                     }
                 }
             }
         }
-
     }
 
     // Take the y position relative to the base of the tree.
@@ -5,6 +5,7 @@
 package biomesoplenty.worldgen.feature.tree;
 
 import biomesoplenty.util.biome.GeneratorUtil;
+import biomesoplenty.util.worldgen.TreePlan;
 import biomesoplenty.worldgen.feature.configurations.BasicTreeConfiguration;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
@@ -31,7 +32,10 @@ public class BushTreeFeature extends BOPTreeFeature<BasicTreeConfiguration>
         // Move down until we reach the ground
         while (startPos.getY() >= world.getMinY()+1 && (world.isEmptyBlock(startPos) || world.getBlockState(startPos).isAir())) {startPos = startPos.below();}
 
-        if (!this.canReplace(world, startPos.above()))
+        // start from the block above the ground block
+        BlockPos pos = startPos.above();
+
+        if (!this.canReplace(world, pos))
         {
             // Abandon if we can't place the tree on this block
             return false;
@@ -40,8 +44,14 @@ public class BushTreeFeature extends BOPTreeFeature<BasicTreeConfiguration>
         // choose a random height
         int height = GeneratorUtil.nextIntBetween(random, config.minHeight, config.maxHeight);
 
-        // start from the block above the ground block
-        BlockPos pos = startPos.above();
+        this.placePlan(world, pos, this.plan(random, pos, height, config), logs, leaves, config);
+        return true;
+    }
+
+    // Works out the shape of the bush relative to the block above the ground
+    public TreePlan plan(RandomSource random, BlockPos pos, int height, BasicTreeConfiguration config)
+    {
+        TreePlan plan = new TreePlan();
 
         //Generate a bush 3 blocks tall, with the bottom block already set to a log
         for (int y = 0; y < height; ++y)
@@ -49,7 +59,7 @@ public class BushTreeFeature extends BOPTreeFeature<BasicTreeConfiguration>
             // log in the center
             if (height - y > 1)
             {
-                this.placeLog(world, pos.offset(0, y, 0), logs, config);
+                plan.add(0, y, 0, TreePlan.LOG);
             }
 
             //Reduces the radius closer to the top of the bush
@@ -66,22 +76,22 @@ public class BushTreeFeature extends BOPTreeFeature<BasicTreeConfiguration>
                         {
                             if (random.nextInt(4) == 0)
                             {
-                                this.placeAltLeaves(world, pos.offset(x, y, z), leaves, config);
+                                plan.add(x, y, z, TreePlan.ALT_LEAVES);
                             }
                             else
                             {
-                                this.placeLeaves(world, pos.offset(x, y, z), leaves, config);
+                                plan.add(x, y, z, TreePlan.LEAVES);
                             }
                         }
                         else
                         {
-                            this.placeLeaves(world, pos.offset(x, y, z), leaves, config);
+                            plan.add(x, y, z, TreePlan.LEAVES);
                         }
                     }
                 }
             }
         }
 
-        return true;
+        return plan;
     }
 }
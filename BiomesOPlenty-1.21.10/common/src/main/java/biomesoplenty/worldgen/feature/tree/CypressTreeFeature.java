@@ -5,12 +5,13 @@
 package biomesoplenty.worldgen.feature.tree;
 
 import biomesoplenty.util.biome.GeneratorUtil;
+import biomesoplenty.util.worldgen.FeatureBounds;
+import biomesoplenty.util.worldgen.TreePlan;
 import biomesoplenty.worldgen.feature.configurations.CypressTreeConfiguration;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.util.RandomSource;
-import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.feature.configurations.TreeConfiguration;
@@ -41,22 +42,42 @@ public class CypressTreeFeature extends BOPTreeFeature<CypressTreeConfiguration>
         {
             baseHeight = 0;
         }
-        int leavesHeight = height - baseHeight;
 
         // Move up to space above ground
         BlockPos pos = startPos.above();
 
-        if (!this.checkSpace(world, pos, baseHeight, height))
+        if (!FeatureBounds.fitsHeight(world, pos.getY(), pos.getY() + height))
+        {
+            return false;
+        }
+
+        TreePlan plan = this.plan(random, baseHeight, height);
+
+        if (!this.canPlacePlan(world, pos, plan))
         {
             // Abandon if there isn't enough room
             return false;
         }
 
+        this.placePlan(world, pos, plan, logs, leaves, config);
+        return true;
+    }
+
+    // Works out the shape of the tree relative to the block above the ground
+    public TreePlan plan(RandomSource random, int baseHeight, int height)
+    {
+        TreePlan plan = new TreePlan();
+        int leavesHeight = height - baseHeight;
+
+        // require 3x3 for the leaves, 1x1 for the trunk
+        // note, there may be a sapling on the first layer - make sure this.replace matches it!
+        plan.requireClear(0, 0, 0, 0, baseHeight, 0);
+        plan.requireClear(-1, baseHeight + 1, -1, 1, height, 1);
+
         // Generate bottom of tree (trunk only)
-        for(int i = 0; i < baseHeight; i++)
+        for (int i = 0; i < baseHeight; i++)
         {
-            this.placeLog(world, pos, logs, config);
-            pos = pos.above();
+            plan.add(0, i, 0, TreePlan.LOG);
         }
 
         for (int i = 1; i < leavesHeight - 3; i++)
@@ -65,21 +86,20 @@ public class CypressTreeFeature extends BOPTreeFeature<CypressTreeConfiguration>
             {
                 for (int zz = -1; zz < 2; zz++)
                 {
-                    this.placeLeaves(world, pos.offset(xx, i, zz), leaves, config);
+                    plan.add(xx, baseHeight + i, zz, TreePlan.LEAVES);
                 }
             }
         }
 
         // Generate middle of the tree
-        for(int i = 0; i < leavesHeight; i++)
+        for (int i = 0; i < leavesHeight; i++)
         {
             int radius = radius(i, leavesHeight);
-            this.generateLeafLayer(world, pos, radius, leaves, config);
-            if (leavesHeight - i > 2) {this.placeLog(world, pos, logs, config);}
-            pos = pos.above();
+            this.generateLeafLayer(random, plan, baseHeight + i, radius);
+            if (leavesHeight - i > 2) {plan.add(0, baseHeight + i, 0, TreePlan.LOG);}
         }
 
-        return true;
+        return plan;
     }
 
     public int radius(int height, int maxHeight)
@@ -91,30 +111,8 @@ public class CypressTreeFeature extends BOPTreeFeature<CypressTreeConfiguration>
         return (int)(r + 0.5F);
     }
 
-    public boolean checkSpace(LevelAccessor world, BlockPos pos, int baseHeight, int height)
-    {
-        for (int y = 0; y <= height; y++)
-        {
-            // require 3x3 for the leaves, 1x1 for the trunk
-            int radius = (y <= baseHeight ? 0 : 1);
-            for (int x = -radius; x <= radius; x++)
-            {
-                for (int z = -radius; z <= radius; z++)
-                {
-                    BlockPos pos1 = pos.offset(x, y, z);
-                    // note, there may be a sapling on the first layer - make sure this.replace matches it!
-                    if (pos1.getY() >= 255 || !this.canReplace(world, pos1))
-                    {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
-    }
-
     // generates a layer of leafs with the given radius
-    public void generateLeafLayer(LevelAccessor world, BlockPos pos, int radius, FoliagePlacer.FoliageSetter leaves, CypressTreeConfiguration config)
+    public void generateLeafLayer(RandomSource random, TreePlan plan, int y, int radius)
     {
         for(int x = -radius; x <= radius; x++)
         {
@@ -124,7 +122,7 @@ public class CypressTreeFeature extends BOPTreeFeature<CypressTreeConfiguration>
                 {
                     if (x*x + z*z <= radius*radius)
                     {
-                        this.placeLeaves(world, pos.offset(x, 0, z), leaves, config);
+                        plan.add(x, y, z, TreePlan.LEAVES);
                     }
                 }
                 else
@@ -133,13 +131,13 @@ public class CypressTreeFeature extends BOPTreeFeature<CypressTreeConfiguration>
 
                     if (x == -radius || x == radius || z == -radius || z == radius)
                     {
-                        if (world.getRandom().nextInt(4) != 0) {
-                            this.placeLeaves(world, pos.offset(x, 0, z), leaves, config);
+                        if (random.nextInt(4) != 0) {
+                            plan.add(x, y, z, TreePlan.LEAVES);
                         }
                     }
                     else
                     {
-                        this.placeLeaves(world, pos.offset(x, 0, z), leaves, config);
+                        plan.add(x, y, z, TreePlan.LEAVES);
                     }
                 }
             }
@@ -5,6 +5,8 @@
 package biomesoplenty.worldgen.feature.tree;
 
 import biomesoplenty.util.biome.GeneratorUtil;
+import biomesoplenty.util.worldgen.DiskMask;
+import biomesoplenty.util.worldgen.FeatureBounds;
 import biomesoplenty.worldgen.feature.configurations.EmpyrealTreeConfiguration;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
@@ -260,98 +262,49 @@ public class EmpyrealTreeFeature extends BOPTreeFeature<EmpyrealTreeConfiguratio
 
     public boolean checkSpace(LevelAccessor world, BlockPos pos, int height, int radius)
     {
-        for (int y = 0; y <= height; y++)
+        // The radius is the same for every layer, so the whole column can be checked in one pass
+        // note, there may be a sapling on the first layer - make sure this.replace matches it!
+        if (!FeatureBounds.fitsHeight(world, pos.getY(), pos.getY() + height))
         {
-            for (int x = -radius; x <= radius; x++)
-            {
-                for (int z = -radius; z <= radius; z++)
-                {
-                    BlockPos pos1 = pos.offset(x, y, z);
-                    // note, there may be a sapling on the first layer - make sure this.replace matches it!
-                    if (pos1.getY() >= 255 || !this.canReplace(world, pos1))
-                    {
-                        return false;
-                    }
-                }
-            }
+            return false;
         }
-        return true;
+        return this.canReplaceArea(world, pos.getX() - radius, pos.getY(), pos.getZ() - radius, pos.getX() + radius, pos.getY() + height, pos.getZ() + radius);
     }
 
     // generate the top of the tree
     public void generateTop(LevelAccessor world, BlockPos pos, BiConsumer<BlockPos, BlockState> logs, FoliagePlacer.FoliageSetter leaves, EmpyrealTreeConfiguration config)
     {
-        placeLeaves(world, pos.offset(0, 0, 0), leaves, config);
-        placeLeaves(world, pos.offset(1, 0, 0), leaves, config);
-        placeLeaves(world, pos.offset(-1, 0, 0), leaves, config);
-        placeLeaves(world, pos.offset(0, 0, 1), leaves, config);
-        placeLeaves(world, pos.offset(0, 0, -1), leaves, config);
+        generateLeafLayer(world, pos, DiskMask.circle(2.0F), leaves, config);
 
+        // The logs are placed first, so the leaf layers around them skip the center
         placeLog(world, pos.offset(0, 1, 0), logs, config);
-        placeLeaves(world, pos.offset(1, 1, 0), leaves, config);
-        placeLeaves(world, pos.offset(-1, 1, 0), leaves, config);
-        placeLeaves(world, pos.offset(0, 1, 1), leaves, config);
-        placeLeaves(world, pos.offset(0, 1, -1), leaves, config);
-        placeLeaves(world, pos.offset(1, 1, 1), leaves, config);
-        placeLeaves(world, pos.offset(1, 1, -1), leaves, config);
-        placeLeaves(world, pos.offset(-1, 1, 1), leaves, config);
-        placeLeaves(world, pos.offset(-1, 1, -1), leaves, config);
-        placeLeaves(world, pos.offset(2, 1, 0), leaves, config);
-        placeLeaves(world, pos.offset(-2, 1, 0), leaves, config);
-        placeLeaves(world, pos.offset(0, 1, 2), leaves, config);
-        placeLeaves(world, pos.offset(0, 1, -2), leaves, config);
+        generateLeafLayer(world, pos.offset(0, 1, 0), DiskMask.circle(2.75F), leaves, config);
 
         placeLog(world, pos.offset(0, 2, 0), logs, config);
-
-        placeLeaves(world, pos.offset(1, 2, 0), leaves, config);
-        placeLeaves(world, pos.offset(-1, 2, 0), leaves, config);
-        placeLeaves(world, pos.offset(0, 2, 1), leaves, config);
-        placeLeaves(world, pos.offset(0, 2, -1), leaves, config);
-        placeLeaves(world, pos.offset(1, 2, 1), leaves, config);
-        placeLeaves(world, pos.offset(1, 2, -1), leaves, config);
-        placeLeaves(world, pos.offset(-1, 2, 1), leaves, config);
-        placeLeaves(world, pos.offset(-1, 2, -1), leaves, config);
-        placeLeaves(world, pos.offset(2, 2, 0), leaves, config);
-        placeLeaves(world, pos.offset(-2, 2, 0), leaves, config);
-        placeLeaves(world, pos.offset(0, 2, 2), leaves, config);
-        placeLeaves(world, pos.offset(0, 2, -2), leaves, config);
-        placeLeaves(world, pos.offset(2, 2, -1), leaves, config);
-        placeLeaves(world, pos.offset(-2, 2, 1), leaves, config);
-        placeLeaves(world, pos.offset(-1, 2, 2), leaves, config);
-        placeLeaves(world, pos.offset(1, 2, -2), leaves, config);
-        placeLeaves(world, pos.offset(2, 2, 1), leaves, config);
-        placeLeaves(world, pos.offset(-2, 2, -1), leaves, config);
-        placeLeaves(world, pos.offset(1, 2, 2), leaves, config);
-        placeLeaves(world, pos.offset(-1, 2, -2), leaves, config);
+        generateLeafLayer(world, pos.offset(0, 2, 0), DiskMask.circle(3.0F), leaves, config);
 
         placeLog(world, pos.offset(0, 3, 0), logs, config);
-        placeLeaves(world, pos.offset(1, 3, 0), leaves, config);
-        placeLeaves(world, pos.offset(-1, 3, 0), leaves, config);
-        placeLeaves(world, pos.offset(0, 3, 1), leaves, config);
-        placeLeaves(world, pos.offset(0, 3, -1), leaves, config);
-        placeLeaves(world, pos.offset(1, 3, 1), leaves, config);
-        placeLeaves(world, pos.offset(1, 3, -1), leaves, config);
-        placeLeaves(world, pos.offset(-1, 3, 1), leaves, config);
-        placeLeaves(world, pos.offset(-1, 3, -1), leaves, config);
-        placeLeaves(world, pos.offset(2, 3, 0), leaves, config);
-        placeLeaves(world, pos.offset(-2, 3, 0), leaves, config);
-        placeLeaves(world, pos.offset(0, 3, 2), leaves, config);
-        placeLeaves(world, pos.offset(0, 3, -2), leaves, config);
+        generateLeafLayer(world, pos.offset(0, 3, 0), DiskMask.circle(2.75F), leaves, config);
 
         placeLog(world, pos.offset(0, 4, 0), logs, config);
-        placeLeaves(world, pos.offset(1, 4, 0), leaves, config);
-        placeLeaves(world, pos.offset(-1, 4, 0), leaves, config);
-        placeLeaves(world, pos.offset(0, 4, 1), leaves, config);
-        placeLeaves(world, pos.offset(0, 4, -1), leaves, config);
+        generateLeafLayer(world, pos.offset(0, 4, 0), DiskMask.circle(2.0F), leaves, config);
 
         placeLog(world, pos.offset(0, 5, 0), logs, config);
-        placeLeaves(world, pos.offset(1, 5, 0), leaves, config);
-        placeLeaves(world, pos.offset(-1, 5, 0), leaves, config);
-        placeLeaves(world, pos.offset(0, 5, 1), leaves, config);
-        placeLeaves(world, pos.offset(0, 5, -1), leaves, config);
+        generateLeafLayer(world, pos.offset(0, 5, 0), DiskMask.circle(2.0F), leaves, config);
 
         placeLeaves(world, pos.offset(0, 6, 0), leaves, config);
         placeLeaves(world, pos.offset(0, 7, 0), leaves, config);
         placeLeaves(world, pos.offset(0, 8, 0), leaves, config);
     }
+
+    // generates a layer of leaves covering the given mask
+    private void generateLeafLayer(LevelAccessor world, BlockPos pos, DiskMask mask, FoliagePlacer.FoliageSetter leaves, EmpyrealTreeConfiguration config)
+    {
+        BlockPos.MutableBlockPos leafPos = new BlockPos.MutableBlockPos();
+
+        for (int i = 0; i < mask.size(); i++)
+        {
+            placeLeaves(world, leafPos.setWithOffset(pos, mask.getX(i), 0, mask.getZ(i)), leaves, config);
+        }
+    }
 }
@@ -40,7 +40,7 @@ public class MahoganyTreeFeature extends BOPTreeFeature<MahoganyTreeConfiguratio
         {
             int radius;
 
-            for (int y = pos.getY(); y <= pos.getY() + 1 + height; y++)
+            for (int y = pos.getY(); y <= pos.getY() + 1 + height && hasSpace; y++)
             {
                 radius = 1;
 
@@ -57,23 +57,17 @@ public class MahoganyTreeFeature extends BOPTreeFeature<MahoganyTreeConfiguratio
                     radius = 2;
                 }
 
-                for (int x = pos.getX() - radius; x <= pos.getX() + radius && hasSpace; ++x)
+                if (y >= world.getMinY() && y < world.getMaxY())
                 {
-                    for (int z = pos.getZ() - radius; z <= pos.getZ() + radius && hasSpace; ++z)
+                    if (!this.canReplaceLayer(world, pos, y, radius))
                     {
-                        if (y >= world.getMinY() && y < world.getMaxY())
-                        {
-                            if (!this.canReplace(world, new BlockPos(x, y, z)))
-                            {
-                                hasSpace = false;
-                            }
-                        }
-                        else
-                        {
-                            hasSpace = false;
-                        }
+                        hasSpace = false;
                     }
                 }
+                else
+                {
+                    hasSpace = false;
+                }
             }
 
             if (!hasSpace)
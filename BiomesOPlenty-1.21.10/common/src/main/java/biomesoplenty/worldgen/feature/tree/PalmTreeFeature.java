@@ -5,6 +5,7 @@
 package biomesoplenty.worldgen.feature.tree;
 
 import biomesoplenty.util.biome.GeneratorUtil;
+import biomesoplenty.util.worldgen.FeatureBounds;
 import biomesoplenty.worldgen.feature.configurations.PalmTreeConfiguration;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
@@ -89,22 +90,13 @@ public class PalmTreeFeature extends BOPTreeFeature<PalmTreeConfiguration>
 
     public boolean checkSpace(LevelAccessor world, BlockPos pos, int height, int radius)
     {
-        for (int y = 0; y <= height; y++)
+        // The radius is the same for every layer, so the whole column can be checked in one pass
+        // note, there may be a sapling on the first layer - make sure this.replace matches it!
+        if (!FeatureBounds.fitsHeight(world, pos.getY(), pos.getY() + height))
         {
-            for (int x = -radius; x <= radius; x++)
-            {
-                for (int z = -radius; z <= radius; z++)
-                {
-                    BlockPos pos1 = pos.offset(x, y, z);
-                    // note, there may be a sapling on the first layer - make sure this.replace matches it!
-                    if (pos1.getY() >= 255 || !this.canReplace(world, pos1))
-                    {
-                        return false;
-                    }
-                }
-            }
+            return false;
         }
-        return true;
+        return this.canReplaceArea(world, pos.getX() - radius, pos.getY(), pos.getZ() - radius, pos.getX() + radius, pos.getY() + height, pos.getZ() + radius);
     }
 
     // generate the top of the tree (3 blocks)
@@ -5,6 +5,8 @@
 package biomesoplenty.worldgen.feature.tree;
 
 import biomesoplenty.util.biome.GeneratorUtil;
+import biomesoplenty.util.worldgen.FeatureBounds;
+import biomesoplenty.util.worldgen.TreePlan;
 import biomesoplenty.worldgen.feature.configurations.TaigaTreeConfiguration;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
@@ -12,7 +14,6 @@ import net.minecraft.core.Direction;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
-import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
@@ -28,37 +29,25 @@ public class RedwoodTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
         super(codec);
     }
 
-    public boolean checkSpace(LevelAccessor world, BlockPos pos, int baseHeight, int height, TaigaTreeConfiguration config)
+    // Requires 3x3 for the leaves and 1x1 for the trunk on each layer, relative to the block above the ground
+    public void addClearance(TreePlan plan, int baseHeight, int height, TaigaTreeConfiguration config)
     {
         for (int y = 0; y <= height; y++)
         {
-
             int trunkWidth = (config.trunkWidth * (height - y) / height) + 1;
             int trunkStart = Mth.ceil(0.25D - trunkWidth / 2.0D);
             int trunkEnd = Mth.floor(0.25D + trunkWidth / 2.0D);
 
-            // require 3x3 for the leaves, 1x1 for the trunk
             int start = (y <= baseHeight ? trunkStart : trunkStart - 1);
             int end = (y <= baseHeight ? trunkEnd : trunkEnd + 1);
 
-            for (int x = start; x <= end; x++)
-            {
-                for (int z = start; z <= end; z++)
-                {
-                    BlockPos pos1 = pos.offset(x, y, z);
-                    // note, there may be a sapling on the first layer - make sure this.replace matches it!
-                    if (pos1.getY() >= 255 || !this.canReplace(world, pos1))
-                    {
-                        return false;
-                    }
-                }
-            }
+            // note, there may be a sapling on the first layer - make sure this.replace matches it!
+            plan.requireClear(start, y + 1, start, end, y + 1, end);
         }
-        return true;
     }
 
     // generates a layer of leafs
-    public void generateLeafLayer(LevelAccessor world, RandomSource rand, BlockPos pos, int leavesRadius, int trunkStart, int trunkEnd, FoliagePlacer.FoliageSetter leaves, TaigaTreeConfiguration config)
+    public void planLeafLayer(TreePlan plan, RandomSource rand, int y, int leavesRadius, int trunkStart, int trunkEnd)
     {
         int start = trunkStart - leavesRadius;
         int end = trunkEnd + leavesRadius;
@@ -74,38 +63,38 @@ public class RedwoodTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
                 // set leaves as long as it's not too far from the trunk to survive
                 if (distFromTrunk < 4 || (distFromTrunk == 4 && rand.nextInt(2) == 0))
                 {
-                    this.placeLeaves(world, pos.offset(x, 0, z), leaves, config);
+                    plan.add(x, y, z, TreePlan.LEAVES);
                 }
             }
         }
     }
 
-    public void generateBranch(LevelAccessor world, RandomSource rand, BlockPos pos, Direction direction, int length, BiConsumer<BlockPos, BlockState> logs, FoliagePlacer.FoliageSetter leaves, TaigaTreeConfiguration config)
+    public void planBranch(TreePlan plan, RandomSource rand, int baseX, int baseY, int baseZ, Direction direction, int length)
     {
-        Direction.Axis axis = direction.getAxis();
+        byte log = direction.getAxis() == Direction.Axis.X ? TreePlan.LOG_X : TreePlan.LOG_Z;
         Direction sideways = direction.getClockWise();
         for (int i = 1; i <= length; i++)
         {
-            BlockPos pos1 = pos.relative(direction, i);
+            int x = baseX + direction.getStepX() * i;
+            int z = baseZ + direction.getStepZ() * i;
             int r = (i == 1 || i == length) ? 1 : 2;
             for (int j = -r; j <= r; j++)
             {
                 if (i < length || rand.nextInt(2) == 0)
                 {
-                    this.placeLeaves(world, pos1.relative(sideways, j), leaves, config);
+                    plan.add(x + sideways.getStepX() * j, baseY, z + sideways.getStepZ() * j, TreePlan.LEAVES);
                 }
             }
             if (length - i > 2)
             {
-                this.placeLeaves(world, pos1.above(), leaves, config);
-                this.placeLeaves(world, pos1.above().relative(sideways, -1), leaves, config);
-                this.placeLeaves(world, pos1.above().relative(sideways, 1), leaves, config);
-                this.placeLog(world, pos1, axis, logs, config);
+                plan.add(x, baseY + 1, z, TreePlan.LEAVES);
+                plan.add(x - sideways.getStepX(), baseY + 1, z - sideways.getStepZ(), TreePlan.LEAVES);
+                plan.add(x + sideways.getStepX(), baseY + 1, z + sideways.getStepZ(), TreePlan.LEAVES);
+                plan.add(x, baseY, z, log);
             }
         }
     }
 
-
     @Override
     protected boolean doPlace(WorldGenLevel world, RandomSource random, BlockPos startPos, BiConsumer<BlockPos, BlockState> roots, BiConsumer<BlockPos, BlockState> logs, FoliagePlacer.FoliageSetter leaves, TreeConfiguration configBase)
     {
@@ -120,22 +109,31 @@ public class RedwoodTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
         int leavesHeight = height - baseHeight;
         if (leavesHeight < 3) {return false;}
 
-        if (!this.checkSpace(world, startPos.above(), baseHeight, height, config))
+        // The clearance only depends on the heights, so a tree without room is abandoned before any more rolls
+        TreePlan plan = new TreePlan();
+        this.addClearance(plan, baseHeight, height, config);
+
+        if (!FeatureBounds.fitsHeight(world, startPos.getY() + 1, startPos.getY() + 1 + height) || !this.canPlacePlan(world, startPos, plan))
         {
             // Abandon if there isn't enough room
             return false;
         }
 
-        // Start at the top of the tree
-        BlockPos pos = startPos.above(height);
+        this.plan(plan, random, startPos, height, baseHeight, leavesHeight, config);
+        this.placePlan(world, startPos, plan, logs, leaves, config);
+        return true;
+    }
 
+    // Works out the shape of the tree relative to the ground block below it
+    public void plan(TreePlan plan, RandomSource random, BlockPos startPos, int height, int baseHeight, int leavesHeight, TaigaTreeConfiguration config)
+    {
         // Leaves at the top
-        this.placeLeaves(world, pos, leaves, config);
-        pos.below();
+        plan.add(0, height, 0, TreePlan.LEAVES);
 
-        // Add layers of leaves
+        // Add layers of leaves, working down from the top of the tree
         for (int i = 0; i < leavesHeight; i++)
         {
+            int y = height - i;
             int trunkWidth = (config.trunkWidth * i / height) + 1;
             int trunkStart = Mth.ceil(0.25D - trunkWidth / 2.0D);
             int trunkEnd = Mth.floor(0.25D + trunkWidth / 2.0D);
@@ -144,30 +142,20 @@ public class RedwoodTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
             int radius = Math.min(Math.min((i + 2) / 4, 2 + (leavesHeight - i)), 4);
             if (radius == 0)
             {
-                this.placeLeaves(world, pos, leaves, config);
+                plan.add(0, y, 0, TreePlan.LEAVES);
             }
             else if (radius < 2)
             {
-                this.generateLeafLayer(world, random, pos, radius, trunkStart, trunkEnd, leaves, config);
+                this.planLeafLayer(plan, random, y, radius, trunkStart, trunkEnd);
             }
             else
             {
-                if (i % 5 == 0)
-                {
-                    this.generateBranch(world, random, pos.offset(trunkStart, 0, trunkStart), Direction.NORTH, radius / 2, logs, leaves, config);
-                    this.generateBranch(world, random, pos.offset(trunkEnd, 0, trunkStart), Direction.EAST, radius / 2, logs, leaves, config);
-                    this.generateBranch(world, random, pos.offset(trunkEnd, 0, trunkEnd), Direction.SOUTH, radius / 2, logs, leaves, config);
-                    this.generateBranch(world, random, pos.offset(trunkStart, 0, trunkEnd), Direction.WEST, radius / 2, logs, leaves, config);
-                }
-                else
-                {
-                    this.generateBranch(world, random, pos.offset(trunkStart, 0, trunkStart), Direction.NORTH, radius, logs, leaves, config);
-                    this.generateBranch(world, random, pos.offset(trunkEnd, 0, trunkStart), Direction.EAST, radius, logs, leaves, config);
-                    this.generateBranch(world, random, pos.offset(trunkEnd, 0, trunkEnd), Direction.SOUTH, radius, logs, leaves, config);
-                    this.generateBranch(world, random, pos.offset(trunkStart, 0, trunkEnd), Direction.WEST, radius, logs, leaves, config);
-                }
+                int length = i % 5 == 0 ? radius / 2 : radius;
+                this.planBranch(plan, random, trunkStart, y, trunkStart, Direction.NORTH, length);
+                this.planBranch(plan, random, trunkEnd, y, trunkStart, Direction.EAST, length);
+                this.planBranch(plan, random, trunkEnd, y, trunkEnd, Direction.SOUTH, length);
+                this.planBranch(plan, random, trunkStart, y, trunkEnd, Direction.WEST, length);
             }
-            pos = pos.below();
         }
 
         // Create the trunk widths scales
@@ -210,11 +198,11 @@ public class RedwoodTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
 
                 heightHere += random.nextInt(2);
 
-                boolean didPlace = false;
+                plan.add(x, 0, z, TreePlan.COLUMN);
+
                 for (int y = 0; y < heightHere; y++)
                 {
-                    BlockPos local = startPos.offset(x, y, z);
-                    didPlace |= this.placeLog(world, local, logs, config);
+                    plan.add(x, y, z, TreePlan.TRUNK);
 
                     if (dist > 0 && y > 6 && y < (baseHeight - 2) && random.nextInt(15) == 0) {
                         double theta;
@@ -234,37 +222,34 @@ public class RedwoodTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
 
                         int branchLength = (3 - dist) + 1 + random.nextInt(2);
 
-                        BlockPos branchPos = null;
+                        int branchX = x;
+                        int branchY = y;
+                        int branchZ = z;
                         for (int i = 0; i < branchLength; i++) {
-                            branchPos = local.offset(Mth.floor(Math.cos(theta) * i), i / 2, Mth.floor(Math.sin(theta) * i));
+                            branchX = x + Mth.floor(Math.cos(theta) * i);
+                            branchY = y + i / 2;
+                            branchZ = z + Mth.floor(Math.sin(theta) * i);
 
-                            this.placeLog(world, branchPos, logs, config);
+                            plan.add(branchX, branchY, branchZ, TreePlan.LOG);
                         }
 
-                        this.generateBush(logs, leaves, world, random, branchPos, config);
+                        this.planBush(plan, random, startPos, branchX, branchY, branchZ, config);
                     }
                 }
 
-                if (didPlace) {
-                    // Place dirt 3 blocks below the trunk if no solid block is found
-                    for (int y = 1; y < 4; y++)
-                    {
-                        BlockPos local = startPos.offset(x, -y, z);
-                        BlockState state = world.getBlockState(local);
-                        if (state.isAir() || state.is(BlockTags.REPLACEABLE_BY_TREES) || isDirt(state)) {
-                            world.setBlock(local, Blocks.DIRT.defaultBlockState(), 3);
-                        }
-                    }
+                // Place dirt 3 blocks below the trunk if no solid block is found
+                for (int y = 1; y < 4; y++)
+                {
+                    plan.add(x, -y, z, TreePlan.ROOT_DIRT);
                 }
             }
         }
-
-        return true;
     }
 
-    protected boolean generateBush(BiConsumer<BlockPos, BlockState> logs, FoliagePlacer.FoliageSetter leaves, LevelAccessor world, RandomSource random, BlockPos pos, TaigaTreeConfiguration config)
+    protected void planBush(TreePlan plan, RandomSource random, BlockPos startPos, int bushX, int bushY, int bushZ, TaigaTreeConfiguration config)
     {
         int height = 2;
+        BlockPos pos = startPos.offset(bushX, bushY, bushZ);
 
         //Generate a bush 3 blocks tall, with the center block set to a log
         for (int y = 0; y < height; ++y)
@@ -272,7 +257,7 @@ public class RedwoodTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
             // log in the center
             if (height - y > 1)
             {
-                this.placeLog(world, pos.offset(0, y, 0), logs, config);
+                plan.add(bushX, bushY + y, bushZ, TreePlan.LOG);
             }
 
             //Reduces the radius closer to the top of the bush
@@ -289,22 +274,20 @@ public class RedwoodTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
                         {
                             if (random.nextInt(4) == 0)
                             {
-                                this.placeAltLeaves(world, pos.offset(x, y, z), leaves, config);
+                                plan.add(bushX + x, bushY + y, bushZ + z, TreePlan.ALT_LEAVES);
                             }
                             else
                             {
-                                this.placeLeaves(world, pos.offset(x, y, z), leaves, config);
+                                plan.add(bushX + x, bushY + y, bushZ + z, TreePlan.LEAVES);
                             }
                         }
                         else
                         {
-                            this.placeLeaves(world, pos.offset(x, y, z), leaves, config);
+                            plan.add(bushX + x, bushY + y, bushZ + z, TreePlan.LEAVES);
                         }
                     }
                 }
             }
         }
-
-        return true;
     }
 }
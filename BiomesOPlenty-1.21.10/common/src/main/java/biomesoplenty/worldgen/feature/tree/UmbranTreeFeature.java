@@ -5,6 +5,7 @@
 package biomesoplenty.worldgen.feature.tree;
 
 import biomesoplenty.util.biome.GeneratorUtil;
+import biomesoplenty.util.worldgen.FeatureBounds;
 import biomesoplenty.worldgen.feature.configurations.TaigaTreeConfiguration;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
@@ -30,6 +31,11 @@ public class UmbranTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
 
     public boolean checkSpace(LevelAccessor world, BlockPos pos, int baseHeight, int height, TaigaTreeConfiguration config)
     {
+        if (!FeatureBounds.fitsHeight(world, pos.getY(), pos.getY() + height))
+        {
+            return false;
+        }
+
         for (int y = 0; y <= height; y++)
         {
             int trunkWidth = (config.trunkWidth * (height - y) / height) + 1;
@@ -40,17 +46,11 @@ public class UmbranTreeFeature extends BOPTreeFeature<TaigaTreeConfiguration>
             int start = (y <= baseHeight ? trunkStart : trunkStart - 1);
             int end = (y <= baseHeight ? trunkEnd : trunkEnd + 1);
 
-            for (int x = start; x <= end; x++)
+            // note, there may be a sapling on the first layer - make sure this.replace matches it!
+            int layerY = pos.getY() + y;
+            if (!this.canReplaceArea(world, pos.getX() + start, layerY, pos.getZ() + start, pos.getX() + end, layerY, pos.getZ() + end))
             {
-                for (int z = start; z <= end; z++)
-                {
-                    BlockPos pos1 = pos.offset(x, y, z);
-                    // note, there may be a sapling on the first layer - make sure this.replace matches it!
-                    if (pos1.getY() >= 255 || !this.canReplace(world, pos1))
-                    {
-                        return false;
-                    }
-                }
+                return false;
             }
         }
         return true;
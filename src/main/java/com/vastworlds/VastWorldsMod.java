@@ -2,6 +2,9 @@ package com.vastworlds;
 
 import com.vastworlds.biome.VastBiomes;
 import com.vastworlds.biome.VastWorldsRegion;
+import com.vastworlds.worldgen.VastWorldsDensityFunctions;
+import com.vastworlds.worldgen.VastWorldsFeatures;
+import com.vastworlds.worldgen.surface.SurfaceRuleProfiler;
 import net.fabricmc.api.ModInitializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +22,15 @@ public class VastWorldsMod implements ModInitializer, TerraBlenderApi {
 		// Initialize biome keys
 		VastBiomes.init();
 
+		// Register custom feature types
+		VastWorldsFeatures.init();
+
+		// Register custom density function types
+		VastWorldsDensityFunctions.init();
+
+		// Write the surface rule profile on shutdown when profiling is enabled
+		SurfaceRuleProfiler.init();
+
 		LOGGER.info("Vast Worlds initialization complete! Biomes are ready.");
 	}
 
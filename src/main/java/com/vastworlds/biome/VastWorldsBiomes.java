@@ -1,5 +1,6 @@
 package com.vastworlds.biome;
 
+import com.vastworlds.worldgen.VastWorldsFeatures;
 import com.vastworlds.worldgen.placement.VastWorldsVegetationPlacements;
 import net.minecraft.core.Holder;
 import net.minecraft.core.HolderGetter;
@@ -79,28 +80,13 @@ public class VastWorldsBiomes {
         addFeature(generation, GenerationStep.Decoration.UNDERGROUND_ORES,
             VastWorldsVegetationPlacements.COARSE_DIRT_PATCHES_PLAINS); // Weathered areas
 
-        // Step 4: Add DIVERSE GRASS LAYERS (5 types for rich, varied coverage)
-        // These create the lush, windswept plains aesthetic
+        // Step 4: Add GROUND COVER (grasses, ferns and wildflowers in one pass)
+        // Short, tall, mixed, wheat-like and fern grass layers plus wildflowers, poppies and sunflowers
+        // are all placed by a single feature that visits each surface column once
         addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
-            VastWorldsVegetationPlacements.PATCH_PLAINS_GRASS_SHORT); // Base layer (20/chunk)
-        addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
-            VastWorldsVegetationPlacements.PATCH_PLAINS_GRASS_TALL); // Windswept drama (15/chunk)
-        addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
-            VastWorldsVegetationPlacements.PATCH_PLAINS_GRASS_MIXED); // Realistic variety (12/chunk)
-        addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
-            VastWorldsVegetationPlacements.PATCH_PLAINS_GRASS_WHEAT_LIKE); // Golden texture (8/chunk)
-        addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
-            VastWorldsVegetationPlacements.PATCH_PLAINS_GRASS_FERN); // Low area variety (6/chunk)
-
-        // Step 5: Add VIBRANT WILDFLOWERS (3 types for colorful splashes)
-        addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
-            VastWorldsVegetationPlacements.PATCH_PLAINS_WILDFLOWERS); // Mixed flowers (10/chunk)
-        addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
-            VastWorldsVegetationPlacements.PATCH_PLAINS_POPPIES); // Red splashes (5/chunk)
-        addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
-            VastWorldsVegetationPlacements.PATCH_PLAINS_SUNFLOWERS); // Iconic plains (uncommon)
+            VastWorldsFeatures.MEGA_PLAINS_GROUND_COVER); // Lush, windswept grassland with colorful splashes
 
-        // Step 6: Add RARE FEATURES (special exploration touches)
+        // Step 5: Add RARE FEATURES (special exploration touches)
         addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
             VastWorldsVegetationPlacements.LONE_OAK_TREE); // Rare landmarks (1% of chunks)
         addFeature(generation, GenerationStep.Decoration.VEGETAL_DECORATION,
@@ -0,0 +1,19 @@
+package com.vastworlds.mixin;
+
+import com.vastworlds.worldgen.surface.SurfaceRuleProfiler;
+import net.minecraft.world.level.levelgen.SurfaceRules;
+import net.minecraft.world.level.levelgen.SurfaceSystem;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyVariable;
+
+@Mixin(SurfaceSystem.class)
+public abstract class MixinSurfaceSystem {
+    /**
+     * Swaps in the instrumented copy of the surface rules while surface rule profiling is enabled
+     */
+    @ModifyVariable(method = "buildSurface", at = @At("HEAD"), argsOnly = true)
+    private SurfaceRules.RuleSource vastworlds$profileSurfaceRules(SurfaceRules.RuleSource ruleSource) {
+        return SurfaceRuleProfiler.ENABLED ? SurfaceRuleProfiler.instrument(ruleSource) : ruleSource;
+    }
+}
@@ -0,0 +1,28 @@
+package com.vastworlds.worldgen;
+
+import com.mojang.serialization.MapCodec;
+import com.vastworlds.VastWorldsMod;
+import com.vastworlds.worldgen.density.CompiledSpline;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.levelgen.DensityFunction;
+
+/**
+ * Custom density function types for Vast Worlds
+ */
+public class VastWorldsDensityFunctions {
+    // Drop-in replacement for minecraft:spline which evaluates each coordinate once per sample
+    public static final MapCodec<CompiledSpline> COMPILED_SPLINE = register("compiled_spline", CompiledSpline.DATA_CODEC);
+
+    private static <T extends DensityFunction> MapCodec<T> register(String name, MapCodec<T> codec) {
+        return Registry.register(BuiltInRegistries.DENSITY_FUNCTION_TYPE, ResourceLocation.fromNamespaceAndPath(VastWorldsMod.MOD_ID, name), codec);
+    }
+
+    /**
+     * Called during mod initialization to register the density function types
+     */
+    public static void init() {
+        VastWorldsMod.LOGGER.info("Registering Vast Worlds density functions");
+    }
+}
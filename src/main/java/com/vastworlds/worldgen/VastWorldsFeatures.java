@@ -0,0 +1,39 @@
+package com.vastworlds.worldgen;
+
+import com.vastworlds.VastWorldsMod;
+import com.vastworlds.worldgen.feature.GroundCoverConfiguration;
+import com.vastworlds.worldgen.feature.GroundCoverFeature;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.levelgen.feature.Feature;
+import net.minecraft.world.level.levelgen.feature.configurations.FeatureConfiguration;
+import net.minecraft.world.level.levelgen.placement.PlacedFeature;
+
+/**
+ * Custom feature types for Vast Worlds, and keys for the placed features built from them.
+ * The configured and placed features themselves are defined in JSON under data/vastworlds/worldgen/
+ */
+public class VastWorldsFeatures {
+    // Feature types
+    public static final Feature<GroundCoverConfiguration> GROUND_COVER = register("ground_cover", new GroundCoverFeature());
+
+    // Placed features
+    public static final ResourceKey<PlacedFeature> MEGA_PLAINS_GROUND_COVER = ResourceKey.create(
+        Registries.PLACED_FEATURE,
+        ResourceLocation.fromNamespaceAndPath(VastWorldsMod.MOD_ID, "mega_plains_ground_cover")
+    );
+
+    private static <C extends FeatureConfiguration, F extends Feature<C>> F register(String name, F feature) {
+        return Registry.register(BuiltInRegistries.FEATURE, ResourceLocation.fromNamespaceAndPath(VastWorldsMod.MOD_ID, name), feature);
+    }
+
+    /**
+     * Called during mod initialization to register the feature types
+     */
+    public static void init() {
+        VastWorldsMod.LOGGER.info("Registering Vast Worlds features");
+    }
+}
@@ -0,0 +1,389 @@
+package com.vastworlds.worldgen.density;
+
+import com.mojang.serialization.MapCodec;
+import com.vastworlds.VastWorldsMod;
+import net.minecraft.core.Holder;
+import net.minecraft.util.CubicSpline;
+import net.minecraft.util.KeyDispatchDataCodec;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.levelgen.DensityFunction;
+import net.minecraft.world.level.levelgen.DensityFunctions;
+import net.minecraft.world.level.levelgen.NoiseChunk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A spline density function flattened into plain arrays.
+ *
+ * The vanilla minecraft:spline density function walks a tree of CubicSpline objects and evaluates
+ * its coordinate function again at every node it visits. Terralith's offset, factor and jaggedness
+ * splines nest dozens of nodes deep over only four coordinates (continents, erosion, ridges and
+ * ridges_folded), so the same coordinates are computed many times per sample.
+ *
+ * This function reads the same JSON as minecraft:spline, so a density function opts in by changing
+ * its type to "vastworlds:compiled_spline". When compiled:
+ * - Each distinct coordinate is evaluated at most once per sample and then reused
+ * - Nodes are stored as indices into flat location, derivative and child tables instead of objects
+ * - The arithmetic is exactly that of CubicSpline.Multipoint, so results are the same
+ *
+ * Start the game with -Dvastworlds.verifySplines=true to also evaluate the original spline for every
+ * sample and log results that differ by more than {@link #VERIFY_EPSILON}. The first few mismatches
+ * are logged in full, after that only a running count.
+ */
+public class CompiledSpline implements DensityFunction {
+    public static final MapCodec<CompiledSpline> DATA_CODEC = DensityFunctions.Spline.CODEC.codec()
+        .xmap(CompiledSpline::compile, CompiledSpline::source);
+    public static final KeyDispatchDataCodec<CompiledSpline> CODEC = KeyDispatchDataCodec.of(DATA_CODEC);
+
+    private static final boolean VERIFY = Boolean.getBoolean("vastworlds.verifySplines");
+    private static final double VERIFY_EPSILON = 1.0E-5D;
+    private static final AtomicLong VERIFY_SAMPLES = new AtomicLong();
+    private static final AtomicLong VERIFY_MISMATCHES = new AtomicLong();
+    private static final int VERIFY_LOGGED_MISMATCHES = 20;
+    private static final int VERIFY_SUMMARY_INTERVAL = 10000;
+
+    // Marks a constant node in the coordinate table
+    private static final int CONSTANT = -1;
+
+    private final DensityFunctions.Spline source;
+    private final Holder<DensityFunction>[] coordinates;
+
+    // Per node: coordinate index (or CONSTANT), start of the node's points in the point tables, and point count.
+    // Constant nodes keep their value in the value table instead.
+    private final int[] nodeCoordinate;
+    private final int[] nodeStart;
+    private final int[] nodeLength;
+    private final float[] nodeValue;
+
+    // Per point: location, derivative and child node
+    private final float[] locations;
+    private final float[] derivatives;
+    private final int[] children;
+
+    private final double minValue;
+    private final double maxValue;
+
+    // Coordinate values for the sample being computed, reused so that a sample allocates nothing. Copies made for a
+    // NoiseChunk are only ever used by the thread filling that chunk, so they own one buffer outright. Any other
+    // instance may be shared between worker threads and keeps one buffer per thread instead.
+    private final Scratch ownScratch;
+    private final ThreadLocal<Scratch> threadScratch;
+
+    private CompiledSpline(DensityFunctions.Spline source, Holder<DensityFunction>[] coordinates, int[] nodeCoordinate, int[] nodeStart, int[] nodeLength, float[] nodeValue, float[] locations, float[] derivatives, int[] children, double minValue, double maxValue, boolean threadConfined) {
+        this.source = source;
+        this.coordinates = coordinates;
+        this.nodeCoordinate = nodeCoordinate;
+        this.nodeStart = nodeStart;
+        this.nodeLength = nodeLength;
+        this.nodeValue = nodeValue;
+        this.locations = locations;
+        this.derivatives = derivatives;
+        this.children = children;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.ownScratch = threadConfined ? new Scratch(coordinates.length) : null;
+        this.threadScratch = threadConfined ? null : ThreadLocal.withInitial(() -> new Scratch(coordinates.length));
+    }
+
+    /**
+     * Flattens a spline density function. The root node is always node 0.
+     */
+    public static CompiledSpline compile(DensityFunctions.Spline spline) {
+        Builder builder = new Builder();
+        builder.add(spline.spline());
+        return builder.build(spline);
+    }
+
+    public DensityFunctions.Spline source() {
+        return this.source;
+    }
+
+    @Override
+    public double compute(FunctionContext context) {
+        Scratch scratch = this.ownScratch != null ? this.ownScratch : this.threadScratch.get();
+        Arrays.fill(scratch.computed, false);
+        double result = this.evaluate(0, context, scratch.values, scratch.computed);
+
+        if (VERIFY) {
+            verify(result, this.source.compute(context));
+        }
+
+        return result;
+    }
+
+    private float evaluate(int node, FunctionContext context, float[] values, boolean[] computed) {
+        int coordinate = this.nodeCoordinate[node];
+
+        if (coordinate == CONSTANT) {
+            return this.nodeValue[node];
+        }
+
+        if (!computed[coordinate]) {
+            values[coordinate] = (float)this.coordinates[coordinate].value().compute(context);
+            computed[coordinate] = true;
+        }
+
+        float f = values[coordinate];
+        int start = this.nodeStart[node];
+        int last = start + this.nodeLength[node] - 1;
+
+        // Index of the last location not above f, matching CubicSpline.Multipoint's binary search
+        int low = start;
+        int high = last + 1;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (f < this.locations[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+
+        int i = low - 1;
+
+        if (i < start) {
+            return linearExtend(f, this.evaluate(this.children[start], context, values, computed), start);
+        } else if (i == last) {
+            return linearExtend(f, this.evaluate(this.children[last], context, values, computed), last);
+        }
+
+        float g = this.locations[i];
+        float h = this.locations[i + 1];
+        float k = (f - g) / (h - g);
+        float l = this.derivatives[i];
+        float m = this.derivatives[i + 1];
+        float n = this.evaluate(this.children[i], context, values, computed);
+        float o = this.evaluate(this.children[i + 1], context, values, computed);
+        float p = l * (h - g) - (o - n);
+        float q = -m * (h - g) + (o - n);
+        return Mth.lerp(k, n, o) + k * (1.0F - k) * Mth.lerp(k, p, q);
+    }
+
+    private float linearExtend(float f, float value, int point) {
+        float derivative = this.derivatives[point];
+        return derivative == 0.0F ? value : value + derivative * (f - this.locations[point]);
+    }
+
+    private static void verify(double compiled, double interpreted) {
+        long samples = VERIFY_SAMPLES.incrementAndGet();
+
+        if (Math.abs(compiled - interpreted) > VERIFY_EPSILON) {
+            long mismatches = VERIFY_MISMATCHES.incrementAndGet();
+
+            if (mismatches <= VERIFY_LOGGED_MISMATCHES) {
+                VastWorldsMod.LOGGER.warn("Compiled spline mismatch: compiled {} interpreted {} ({} of {} samples)", compiled, interpreted, mismatches, samples);
+            } else if (mismatches % VERIFY_SUMMARY_INTERVAL == 0) {
+                VastWorldsMod.LOGGER.warn("Compiled spline mismatches: {} of {} samples", mismatches, samples);
+            }
+        }
+    }
+
+    @Override
+    public void fillArray(double[] array, ContextProvider provider) {
+        provider.fillAllDirectly(array, this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DensityFunction mapAll(Visitor visitor) {
+        Holder<DensityFunction>[] mapped = new Holder[this.coordinates.length];
+
+        for (int i = 0; i < mapped.length; i++) {
+            mapped[i] = new Holder.Direct<>(this.coordinates[i].value().mapAll(visitor));
+        }
+
+        // The source only needs the same wiring when it is evaluated for verification
+        DensityFunctions.Spline source = VERIFY ? new DensityFunctions.Spline(this.source.spline().mapAll(coordinate -> coordinate.mapAll(visitor))) : this.source;
+
+        // Mapping can narrow the coordinates' ranges, so the bounds are worked out again from the mapped coordinates
+        float[] nodeMin = new float[this.nodeCoordinate.length];
+        float[] nodeMax = new float[this.nodeCoordinate.length];
+        computeBounds(mapped, nodeMin, nodeMax);
+
+        return visitor.apply(new CompiledSpline(source, mapped, this.nodeCoordinate, this.nodeStart, this.nodeLength, this.nodeValue, this.locations, this.derivatives, this.children, nodeMin[0], nodeMax[0], visitor instanceof NoiseChunk));
+    }
+
+    /**
+     * Works out the lowest and highest value of every node, the same way CubicSpline.Multipoint does when it
+     * is created. Children always come after their parent, so walking the nodes backwards visits children first.
+     */
+    private void computeBounds(Holder<DensityFunction>[] coordinates, float[] nodeMin, float[] nodeMax) {
+        for (int node = this.nodeCoordinate.length - 1; node >= 0; node--) {
+            int coordinate = this.nodeCoordinate[node];
+
+            if (coordinate == CONSTANT) {
+                nodeMin[node] = this.nodeValue[node];
+                nodeMax[node] = this.nodeValue[node];
+                continue;
+            }
+
+            int start = this.nodeStart[node];
+            int last = start + this.nodeLength[node] - 1;
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            float coordinateMin = (float)coordinates[coordinate].value().minValue();
+            float coordinateMax = (float)coordinates[coordinate].value().maxValue();
+
+            if (coordinateMin < this.locations[start]) {
+                float a = this.linearExtend(coordinateMin, nodeMin[this.children[start]], start);
+                float b = this.linearExtend(coordinateMin, nodeMax[this.children[start]], start);
+                min = Math.min(min, Math.min(a, b));
+                max = Math.max(max, Math.max(a, b));
+            }
+
+            if (coordinateMax > this.locations[last]) {
+                float a = this.linearExtend(coordinateMax, nodeMin[this.children[last]], last);
+                float b = this.linearExtend(coordinateMax, nodeMax[this.children[last]], last);
+                min = Math.min(min, Math.min(a, b));
+                max = Math.max(max, Math.max(a, b));
+            }
+
+            for (int i = start; i <= last; i++) {
+                min = Math.min(min, nodeMin[this.children[i]]);
+                max = Math.max(max, nodeMax[this.children[i]]);
+            }
+
+            for (int i = start; i < last; i++) {
+                float l = this.derivatives[i];
+                float m = this.derivatives[i + 1];
+
+                if (l != 0.0F || m != 0.0F) {
+                    float width = this.locations[i + 1] - this.locations[i];
+                    float lowMin = nodeMin[this.children[i]];
+                    float lowMax = nodeMax[this.children[i]];
+                    float highMin = nodeMin[this.children[i + 1]];
+                    float highMax = nodeMax[this.children[i + 1]];
+                    float p = l * width;
+                    float q = m * width;
+                    float lowest = Math.min(p - highMax + lowMin, -q + highMin - lowMax);
+                    float highest = Math.max(p - highMin + lowMax, -q + highMax - lowMin);
+                    min = Math.min(min, Math.min(lowMin, highMin) + 0.25F * lowest);
+                    max = Math.max(max, Math.max(lowMax, highMax) + 0.25F * highest);
+                }
+            }
+
+            nodeMin[node] = min;
+            nodeMax[node] = max;
+        }
+    }
+
+    @Override
+    public double minValue() {
+        return this.minValue;
+    }
+
+    @Override
+    public double maxValue() {
+        return this.maxValue;
+    }
+
+    @Override
+    public KeyDispatchDataCodec<? extends DensityFunction> codec() {
+        return CODEC;
+    }
+
+    private static class Builder {
+        private final List<DensityFunctions.Spline.Coordinate> coordinates = new ArrayList<>();
+        private final List<int[]> nodes = new ArrayList<>();
+        private final List<Float> nodeValues = new ArrayList<>();
+        private final List<Float> locations = new ArrayList<>();
+        private final List<Float> derivatives = new ArrayList<>();
+        private final List<Integer> children = new ArrayList<>();
+
+        /**
+         * Adds a node and everything below it, returning the node's index
+         */
+        private int add(CubicSpline<DensityFunctions.Spline.Point, DensityFunctions.Spline.Coordinate> spline) {
+            int index = this.nodes.size();
+
+            if (spline instanceof CubicSpline.Constant<DensityFunctions.Spline.Point, DensityFunctions.Spline.Coordinate> constant) {
+                this.nodes.add(new int[] { CONSTANT, 0, 0 });
+                this.nodeValues.add(constant.value());
+                return index;
+            }
+
+            CubicSpline.Multipoint<DensityFunctions.Spline.Point, DensityFunctions.Spline.Coordinate> multipoint = (CubicSpline.Multipoint<DensityFunctions.Spline.Point, DensityFunctions.Spline.Coordinate>)spline;
+            int length = multipoint.locations().length;
+            int start = this.locations.size();
+
+            // Reserve this node's points before its children add theirs
+            this.nodes.add(new int[] { this.coordinateIndex(multipoint.coordinate()), start, length });
+            this.nodeValues.add(0.0F);
+
+            for (int i = 0; i < length; i++) {
+                this.locations.add(multipoint.locations()[i]);
+                this.derivatives.add(multipoint.derivatives()[i]);
+                this.children.add(-1);
+            }
+
+            for (int i = 0; i < length; i++) {
+                this.children.set(start + i, this.add(multipoint.values().get(i)));
+            }
+
+            return index;
+        }
+
+        private int coordinateIndex(DensityFunctions.Spline.Coordinate coordinate) {
+            // Coordinates are records, so references to the same density function compare equal
+            int index = this.coordinates.indexOf(coordinate);
+
+            if (index < 0) {
+                index = this.coordinates.size();
+                this.coordinates.add(coordinate);
+            }
+
+            return index;
+        }
+
+        @SuppressWarnings("unchecked")
+        private CompiledSpline build(DensityFunctions.Spline source) {
+            int nodeCount = this.nodes.size();
+            int[] nodeCoordinate = new int[nodeCount];
+            int[] nodeStart = new int[nodeCount];
+            int[] nodeLength = new int[nodeCount];
+            float[] nodeValue = new float[nodeCount];
+
+            for (int i = 0; i < nodeCount; i++) {
+                int[] node = this.nodes.get(i);
+                nodeCoordinate[i] = node[0];
+                nodeStart[i] = node[1];
+                nodeLength[i] = node[2];
+                nodeValue[i] = this.nodeValues.get(i);
+            }
+
+            int pointCount = this.locations.size();
+            float[] locations = new float[pointCount];
+            float[] derivatives = new float[pointCount];
+            int[] children = new int[pointCount];
+
+            for (int i = 0; i < pointCount; i++) {
+                locations[i] = this.locations.get(i);
+                derivatives[i] = this.derivatives.get(i);
+                children[i] = this.children.get(i);
+            }
+
+            // Holders are kept rather than resolved, as references may not be bound yet while data is loading
+            Holder<DensityFunction>[] coordinates = this.coordinates.stream()
+                .map(DensityFunctions.Spline.Coordinate::function)
+                .toArray(Holder[]::new);
+
+            // References may not be bound yet either, so the bounds are the source's until the spline is mapped
+            return new CompiledSpline(source, coordinates, nodeCoordinate, nodeStart, nodeLength, nodeValue, locations, derivatives, children, source.minValue(), source.maxValue(), false);
+        }
+    }
+
+    private static class Scratch {
+        private final float[] values;
+        private final boolean[] computed;
+
+        private Scratch(int coordinates) {
+            this.values = new float[coordinates];
+            this.computed = new boolean[coordinates];
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.vastworlds.worldgen.feature;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.world.level.levelgen.feature.configurations.FeatureConfiguration;
+import net.minecraft.world.level.levelgen.feature.stateproviders.BlockStateProvider;
+
+import java.util.List;
+
+/**
+ * Configuration for the ground cover feature.
+ *
+ * Each layer claims a share of the chunk's surface columns given by its density. A density of 0.25 means
+ * roughly a quarter of all columns get a plant from that layer. The densities of all layers should add up
+ * to at most 1.0, and any share left over stays bare ground.
+ */
+public record GroundCoverConfiguration(List<Layer> layers) implements FeatureConfiguration {
+    public static final Codec<GroundCoverConfiguration> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+        Layer.CODEC.listOf().fieldOf("layers").forGetter(GroundCoverConfiguration::layers)
+    ).apply(instance, GroundCoverConfiguration::new));
+
+    /**
+     * A single layer of ground cover, e.g. short grass or wildflowers
+     *
+     * @param density fraction of surface columns covered by this layer
+     * @param state   the plants to place, usually a weighted state provider
+     */
+    public record Layer(float density, BlockStateProvider state) {
+        public static final Codec<Layer> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.floatRange(0.0F, 1.0F).fieldOf("density").forGetter(Layer::density),
+            BlockStateProvider.CODEC.fieldOf("state").forGetter(Layer::state)
+        ).apply(instance, Layer::new));
+    }
+}
@@ -0,0 +1,104 @@
+package com.vastworlds.worldgen.feature;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.DoublePlantBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.levelgen.feature.Feature;
+import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
+
+import java.util.List;
+
+/**
+ * Decorates a whole chunk's surface with layered ground cover in a single sweep.
+ *
+ * Stacking several random patch features means every patch attempt searches for the surface and tests its
+ * placement on its own, and patches overlap each other. This feature reads the surface height of each
+ * of the chunk's 256 columns once from the heightmap. It then rolls once per column to pick which layer
+ * (if any) covers it, so each column is looked at exactly once no matter how many layers there are.
+ *
+ * Place it once per chunk without any spreading placement modifiers, as the feature covers the whole chunk
+ * containing its origin. Only columns in the same biome as the origin are covered, so the ground cover stops
+ * at biome edges rather than spilling into the neighbouring biome. Put the origin on the surface with a
+ * heightmap modifier before any biome filter, as biomes can differ underground.
+ */
+public class GroundCoverFeature extends Feature<GroundCoverConfiguration> {
+
+    public GroundCoverFeature() {
+        super(GroundCoverConfiguration.CODEC);
+    }
+
+    @Override
+    public boolean place(FeaturePlaceContext<GroundCoverConfiguration> context) {
+        WorldGenLevel level = context.level();
+        RandomSource random = context.random();
+        List<GroundCoverConfiguration.Layer> layers = context.config().layers();
+        int minX = context.origin().getX() & ~15;
+        int minZ = context.origin().getZ() & ~15;
+        Holder<Biome> biome = level.getBiome(context.origin());
+
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        boolean placedAny = false;
+
+        for (int x = minX; x < minX + 16; x++) {
+            for (int z = minZ; z < minZ + 16; z++) {
+                GroundCoverConfiguration.Layer layer = pickLayer(layers, random.nextFloat());
+
+                // Bare ground, skip the column without touching the world
+                if (layer == null) {
+                    continue;
+                }
+
+                int y = level.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z);
+                pos.set(x, y, z);
+
+                if (level.isOutsideBuildHeight(y) || !level.isEmptyBlock(pos)) {
+                    continue;
+                }
+
+                // Only looked up for covered columns, as the biome lookup costs more than the roll
+                if (!level.getBiome(pos).equals(biome)) {
+                    continue;
+                }
+
+                BlockState state = layer.state().getState(random, pos);
+
+                if (!state.canSurvive(level, pos)) {
+                    continue;
+                }
+
+                if (state.getBlock() instanceof DoublePlantBlock) {
+                    // Tall plants need the block above them to be free too
+                    if (!level.isEmptyBlock(pos.above())) {
+                        continue;
+                    }
+                    DoublePlantBlock.placeAt(level, state, pos, 2);
+                } else {
+                    level.setBlock(pos, state, 2);
+                }
+
+                placedAny = true;
+            }
+        }
+
+        return placedAny;
+    }
+
+    /**
+     * Picks the layer covering a column from a single roll, or null if the column stays bare
+     */
+    private static GroundCoverConfiguration.Layer pickLayer(List<GroundCoverConfiguration.Layer> layers, float roll) {
+        for (GroundCoverConfiguration.Layer layer : layers) {
+            roll -= layer.density();
+
+            if (roll < 0.0F) {
+                return layer;
+            }
+        }
+        return null;
+    }
+}
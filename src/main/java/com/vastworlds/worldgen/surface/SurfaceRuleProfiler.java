@@ -0,0 +1,337 @@
+package com.vastworlds.worldgen.surface;
+
+import com.mojang.serialization.MapCodec;
+import com.vastworlds.VastWorldsMod;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.KeyDispatchDataCodec;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.levelgen.SurfaceRules;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Measures how often each surface rule condition is tested and how long it takes, broken down by biome.
+ *
+ * Terralith's overworld noise settings carry a very large surface rule tree, and TerraBlender adds the
+ * rules of mods such as Biomes O' Plenty on top. Nothing in vanilla shows which of those conditions are
+ * hot. Start the game with -Dvastworlds.profileSurfaceRules=true (for example while pregenerating) and
+ * the rule tree passed to each surface build is replaced by a copy where every condition counts its tests,
+ * passes and time spent. When the server stops, a ranked report is written to vastworlds_surface_rules.txt
+ * in the game directory with:
+ * - The most expensive conditions overall, with their place in the tree
+ * - The most expensive conditions in each biome
+ * - Conditions that were never tested, which are candidates for pruning
+ *
+ * Rule sources are rebuilt generically from their record components, so sequences, tests and other mods'
+ * record based rule sources are all walked. Other rule sources are walked if they have a public
+ * map(UnaryOperator) method returning a rule source, like Biomes O' Plenty's biome dispatch rules, which are
+ * then profiled through the per-biome rules that actually run. Anything else is left as it is, with a warning.
+ * A condition used in several places is counted once, at the first place it is found. Timings include
+ * System.nanoTime overhead, so compare them against each other rather than reading them as absolute costs.
+ */
+public class SurfaceRuleProfiler {
+    public static final boolean ENABLED = Boolean.getBoolean("vastworlds.profileSurfaceRules");
+
+    private static final String REPORT_FILE = "vastworlds_surface_rules.txt";
+    private static final int TOP_OVERALL = 25;
+    private static final int TOP_PER_BIOME = 10;
+    private static final int MAX_DESCRIPTION_LENGTH = 160;
+
+    // Instrumented copies of each rule tree, keyed by the identity of the original root
+    private static final Map<SurfaceRules.RuleSource, SurfaceRules.RuleSource> INSTRUMENTED = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final List<ProfiledCondition> CONDITIONS = new CopyOnWriteArrayList<>();
+    // Profiled copies of each condition, so that conditions shared between rules are only counted once
+    private static final Map<SurfaceRules.ConditionSource, ProfiledCondition> PROFILED = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    // Lets a profiled condition be encoded while profiling. It is written as a wrapper around the original condition,
+    // and reads back as the original condition
+    private static final MapCodec<SurfaceRules.ConditionSource> PROFILED_CODEC = SurfaceRules.ConditionSource.CODEC.fieldOf("condition")
+        .xmap(Function.identity(), condition -> condition instanceof ProfiledCondition profiled ? profiled.delegate : condition);
+
+    /**
+     * Called during mod initialization to write the report when the server stops
+     */
+    public static void init() {
+        if (!ENABLED) {
+            return;
+        }
+
+        VastWorldsMod.LOGGER.info("Surface rule profiling is enabled, the report will be written to {} when the server stops", REPORT_FILE);
+        Registry.register(BuiltInRegistries.MATERIAL_CONDITION, ResourceLocation.fromNamespaceAndPath(VastWorldsMod.MOD_ID, "profiled"), PROFILED_CODEC);
+
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            writeReport(FabricLoader.getInstance().getGameDir().resolve(REPORT_FILE));
+
+            // Rule trees can differ between worlds, so start over with the next one
+            INSTRUMENTED.clear();
+            PROFILED.clear();
+            CONDITIONS.clear();
+        });
+    }
+
+    /**
+     * Returns the instrumented copy of a surface rule tree, building it the first time the tree is seen
+     */
+    public static SurfaceRules.RuleSource instrument(SurfaceRules.RuleSource root) {
+        return INSTRUMENTED.computeIfAbsent(root, source -> (SurfaceRules.RuleSource)wrap(source, "root"));
+    }
+
+    private static Object wrap(Object value, String path) {
+        if (value instanceof SurfaceRules.ConditionSource condition) {
+            return PROFILED.computeIfAbsent(condition, key -> {
+                ProfiledCondition profiled = new ProfiledCondition(key, path);
+                CONDITIONS.add(profiled);
+                return profiled;
+            });
+        } else if (value instanceof SurfaceRules.RuleSource rule && rule.getClass().isRecord()) {
+            return rebuild(rule, path);
+        } else if (value instanceof SurfaceRules.RuleSource rule && !rule.getClass().isEnum()) {
+            return map(rule, path);
+        } else if (value instanceof List<?> list && list.stream().anyMatch(SurfaceRuleProfiler::isSource)) {
+            List<Object> wrapped = new ArrayList<>(list.size());
+
+            for (int i = 0; i < list.size(); i++) {
+                wrapped.add(wrap(list.get(i), path + "[" + i + "]"));
+            }
+
+            return wrapped;
+        } else if (value instanceof Map<?, ?> map && map.values().stream().anyMatch(SurfaceRuleProfiler::isSource)) {
+            Map<Object, Object> wrapped = new LinkedHashMap<>();
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                wrapped.put(entry.getKey(), wrap(entry.getValue(), path + "[" + entry.getKey() + "]"));
+            }
+
+            return wrapped;
+        }
+
+        return value;
+    }
+
+    private static boolean isSource(Object value) {
+        return value instanceof SurfaceRules.RuleSource || value instanceof SurfaceRules.ConditionSource;
+    }
+
+    /**
+     * Rebuilds a record rule source with all of its rule and condition components wrapped
+     */
+    private static SurfaceRules.RuleSource rebuild(SurfaceRules.RuleSource rule, String path) {
+        RecordComponent[] components = rule.getClass().getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        Object[] values = new Object[components.length];
+        String childPath = path + " > " + typeName(rule);
+        boolean changed = false;
+
+        try {
+            for (int i = 0; i < components.length; i++) {
+                Method accessor = components[i].getAccessor();
+                accessor.setAccessible(true);
+                Object value = accessor.invoke(rule);
+
+                types[i] = components[i].getType();
+                values[i] = wrap(value, childPath);
+                changed |= values[i] != value;
+            }
+
+            if (!changed) {
+                return rule;
+            }
+
+            Constructor<? extends SurfaceRules.RuleSource> constructor = rule.getClass().getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+            return constructor.newInstance(values);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            VastWorldsMod.LOGGER.warn("Unable to profile surface rule {} at {}, leaving it as it is", rule.getClass().getName(), path, e);
+            return rule;
+        }
+    }
+
+    /**
+     * Rewrites a rule source which isn't a record through its map(UnaryOperator) method, if it has one.
+     * Enums such as bandlands have nothing to walk into and are never passed here.
+     */
+    private static SurfaceRules.RuleSource map(SurfaceRules.RuleSource rule, String path) {
+        String childPath = path + " > " + typeName(rule);
+        Method map;
+
+        try {
+            map = rule.getClass().getMethod("map", UnaryOperator.class);
+        } catch (NoSuchMethodException e) {
+            VastWorldsMod.LOGGER.warn("Unable to profile surface rule {} at {}, it isn't a record and has no map method, leaving it as it is", rule.getClass().getName(), path);
+            return rule;
+        }
+
+        if (!SurfaceRules.RuleSource.class.isAssignableFrom(map.getReturnType())) {
+            VastWorldsMod.LOGGER.warn("Unable to profile surface rule {} at {}, its map method doesn't return a rule source, leaving it as it is", rule.getClass().getName(), path);
+            return rule;
+        }
+
+        UnaryOperator<SurfaceRules.RuleSource> mapper = child -> (SurfaceRules.RuleSource)wrap(child, childPath);
+
+        try {
+            return (SurfaceRules.RuleSource)map.invoke(rule, mapper);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            VastWorldsMod.LOGGER.warn("Unable to profile surface rule {} at {}, leaving it as it is", rule.getClass().getName(), path, e);
+            return rule;
+        }
+    }
+
+    private static String typeName(SurfaceRules.RuleSource rule) {
+        ResourceLocation key = BuiltInRegistries.MATERIAL_RULE.getKey(rule.codec().codec());
+        return key == null ? rule.getClass().getSimpleName() : key.toString();
+    }
+
+    private static String typeName(SurfaceRules.ConditionSource condition) {
+        ResourceLocation key = BuiltInRegistries.MATERIAL_CONDITION.getKey(condition.codec().codec());
+        return key == null ? condition.getClass().getSimpleName() : key.toString();
+    }
+
+    private static void writeReport(Path file) {
+        Map<Holder<Biome>, List<Row>> biomes = new HashMap<>();
+        List<Row> overall = new ArrayList<>();
+        List<ProfiledCondition> untested = new ArrayList<>();
+
+        for (ProfiledCondition condition : CONDITIONS) {
+            if (condition.biomes.isEmpty()) {
+                untested.add(condition);
+                continue;
+            }
+
+            long tests = 0;
+            long passes = 0;
+            long nanos = 0;
+
+            for (Map.Entry<Holder<Biome>, Stats> entry : condition.biomes.entrySet()) {
+                Stats stats = entry.getValue();
+                Row row = new Row(condition, stats.tests.sum(), stats.passes.sum(), stats.nanos.sum());
+                biomes.computeIfAbsent(entry.getKey(), biome -> new ArrayList<>()).add(row);
+                tests += row.tests();
+                passes += row.passes();
+                nanos += row.nanos();
+            }
+
+            overall.add(new Row(condition, tests, passes, nanos));
+        }
+
+        Comparator<Row> byNanos = Comparator.comparingLong(Row::nanos).reversed();
+        overall.sort(byNanos);
+
+        List<Map.Entry<Holder<Biome>, List<Row>>> biomeEntries = new ArrayList<>(biomes.entrySet());
+        biomeEntries.sort(Comparator.comparingLong((Map.Entry<Holder<Biome>, List<Row>> entry) -> entry.getValue().stream().mapToLong(Row::nanos).sum()).reversed());
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.printf("Surface rule profile: %d conditions, %d tested in %d biomes%n%n", CONDITIONS.size(), overall.size(), biomes.size());
+
+            writer.printf("Most expensive conditions overall:%n");
+            overall.stream().limit(TOP_OVERALL).forEach(row -> row.write(writer));
+
+            for (Map.Entry<Holder<Biome>, List<Row>> entry : biomeEntries) {
+                List<Row> rows = entry.getValue();
+                rows.sort(byNanos);
+                writer.printf("%nMost expensive conditions in %s:%n", biomeName(entry.getKey()));
+                rows.stream().limit(TOP_PER_BIOME).forEach(row -> row.write(writer));
+            }
+
+            writer.printf("%nConditions never tested (%d):%n", untested.size());
+            untested.forEach(condition -> writer.printf("  %s%n    at %s%n", condition.description, condition.path));
+        } catch (IOException e) {
+            VastWorldsMod.LOGGER.error("Failed to write the surface rule profile to {}", file, e);
+            return;
+        }
+
+        VastWorldsMod.LOGGER.info("Wrote the surface rule profile for {} conditions to {}", CONDITIONS.size(), file);
+    }
+
+    private static String biomeName(Holder<Biome> biome) {
+        return biome.unwrapKey().map(key -> key.location().toString()).orElse("[unregistered biome]");
+    }
+
+    /**
+     * A condition source which times every test of the conditions it creates
+     */
+    private static class ProfiledCondition implements SurfaceRules.ConditionSource {
+        private final SurfaceRules.ConditionSource delegate;
+        private final String description;
+        private final String path;
+        private final Map<Holder<Biome>, Stats> biomes = new ConcurrentHashMap<>();
+
+        ProfiledCondition(SurfaceRules.ConditionSource delegate, String path) {
+            String description = typeName(delegate) + " " + delegate;
+            this.delegate = delegate;
+            this.description = description.length() > MAX_DESCRIPTION_LENGTH ? description.substring(0, MAX_DESCRIPTION_LENGTH) + "..." : description;
+            this.path = path;
+        }
+
+        @Override
+        public SurfaceRules.Condition apply(SurfaceRules.Context context) {
+            SurfaceRules.Condition condition = this.delegate.apply(context);
+
+            return () -> {
+                long start = System.nanoTime();
+                boolean result = condition.test();
+                long elapsed = System.nanoTime() - start;
+
+                this.stats(context.biome.get()).record(result, elapsed);
+                return result;
+            };
+        }
+
+        private Stats stats(Holder<Biome> biome) {
+            Stats stats = this.biomes.get(biome);
+            return stats != null ? stats : this.biomes.computeIfAbsent(biome, key -> new Stats());
+        }
+
+        @Override
+        public KeyDispatchDataCodec<? extends SurfaceRules.ConditionSource> codec() {
+            // Encodes the wrapped condition, which is also what decoding gives back
+            return KeyDispatchDataCodec.of(PROFILED_CODEC);
+        }
+    }
+
+    private static class Stats {
+        private final LongAdder tests = new LongAdder();
+        private final LongAdder passes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(boolean passed, long elapsed) {
+            this.tests.increment();
+            this.nanos.add(elapsed);
+
+            if (passed) {
+                this.passes.increment();
+            }
+        }
+    }
+
+    private record Row(ProfiledCondition condition, long tests, long passes, long nanos) {
+        void write(PrintWriter writer) {
+            writer.printf("  %10.1f ms %12d tests %6.1f%% pass %8.0f ns/test  %s%n    at %s%n",
+                this.nanos / 1.0E6D, this.tests, 100.0D * this.passes / this.tests, (double)this.nanos / this.tests,
+                this.condition.description, this.condition.path);
+        }
+    }
+}